@@ -0,0 +1,37 @@
+package at.pcgamingfreaks.yaml.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface as config, the {@link YamlConfigProcessor} generates an implementation of the interface reading its values from a YAML object.
+ * The implementation is named like the interface with the suffix {@code Yaml} and has a constructor taking the YAML object.
+ * Every method of the interface without parameters is mapped to a key, see {@link YamlKey}:
+ * <ul>
+ *     <li>The values are looked up once in the constructor, the getters only convert them</li>
+ *     <li>Primitive types and strings are read with the typed getters of the values, every other type is converted with the converters of the YAML object</li>
+ *     <li>Default methods are used if the key is missing, the constructor throws an exception if the key of an abstract method is missing</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * @YamlConfig("database")
+ * public interface DbConfig
+ * {
+ *     String host();
+ *     default int port() { return 5432; }
+ * }
+ * ...
+ * DbConfig config = new DbConfigYaml(yaml);
+ * }</pre>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface YamlConfig
+{
+	/**
+	 * @return The key of the section holding the values of the config, empty for the root
+	 */
+	String value() default "";
+}
@@ -0,0 +1,200 @@
+package at.pcgamingfreaks.yaml.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Generates the implementations of the interfaces annotated with {@link YamlConfig}.
+ * The generated classes only use the public API of the parser, they need neither reflection nor the processor at runtime.
+ */
+@SupportedAnnotationTypes("at.pcgamingfreaks.yaml.processor.YamlConfig")
+public class YamlConfigProcessor extends AbstractProcessor
+{
+	private static final String GETTER = "at.pcgamingfreaks.yaml.YamlGetter", VALUE = "at.pcgamingfreaks.yaml.YamlValue", KEY_NOT_FOUND = "at.pcgamingfreaks.yaml.YamlKeyNotFoundException";
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv)
+	{
+		for(Element element : roundEnv.getElementsAnnotatedWith(YamlConfig.class))
+		{
+			if(element.getKind() != ElementKind.INTERFACE)
+			{
+				error("@YamlConfig can only be used on interfaces", element);
+				continue;
+			}
+			if(!((TypeElement) element).getTypeParameters().isEmpty())
+			{
+				error("@YamlConfig can't be used on generic interfaces", element);
+				continue;
+			}
+			try
+			{
+				generate((TypeElement) element);
+			}
+			catch(IOException e)
+			{
+				error("Failed to write the implementation of " + element + ": " + e.getMessage(), element);
+			}
+		}
+		return true;
+	}
+
+	private void generate(final TypeElement config) throws IOException
+	{
+		String section = config.getAnnotation(YamlConfig.class).value();
+		List<Getter> getters = new ArrayList<>();
+		for(ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(config)))
+		{
+			// Methods of Object and static or private interface methods are not implemented
+			if(method.getEnclosingElement().getKind() != ElementKind.INTERFACE || method.getModifiers().contains(Modifier.STATIC) || method.getModifiers().contains(Modifier.PRIVATE)) continue;
+			Getter getter = Getter.create(method, section);
+			if(getter == null)
+			{
+				error("Methods of a @YamlConfig need a return type that can be read from a value and no parameters", method);
+				return;
+			}
+			getters.add(getter);
+		}
+
+		String packageName = processingEnv.getElementUtils().getPackageOf(config).getQualifiedName().toString();
+		String className = getFlatName(config) + "Yaml", interfaceName = config.getQualifiedName().toString();
+		StringBuilder source = new StringBuilder();
+		if(!packageName.isEmpty()) source.append("package ").append(packageName).append(";\n\n");
+		source.append("/**\n * Generated implementation of {@link ").append(interfaceName).append("}, the values are looked up once when the object is created.\n */\n");
+		source.append("public final class ").append(className).append(" implements ").append(interfaceName).append("\n{\n");
+		for(Getter getter : getters)
+		{
+			source.append("\tprivate final ").append(VALUE).append(' ').append(getter.name).append(";\n");
+		}
+		source.append("\n\t/**\n\t * @param yaml The YAML object the values should be read from\n");
+		source.append("\t * @throws ").append(KEY_NOT_FOUND).append(" If a key without default value could not be found in the YAML object\n\t */\n");
+		source.append("\tpublic ").append(className).append("(final ").append(GETTER).append(" yaml) throws ").append(KEY_NOT_FOUND).append("\n\t{\n");
+		for(Getter getter : getters)
+		{
+			source.append("\t\tthis.").append(getter.name).append(" = yaml.").append(getter.hasDefault ? "getValue" : "getValueE").append("(\"").append(escape(getter.key)).append("\");\n");
+		}
+		source.append("\t}\n");
+		for(Getter getter : getters)
+		{
+			source.append("\n\t@Override\n\tpublic ").append(getter.type).append(' ').append(getter.name).append("()\n\t{\n\t\treturn ");
+			if(getter.hasDefault)
+			{
+				source.append('(').append(getter.name).append(" != null) ? ").append(getter.name).append(getter.read).append(" : ");
+				source.append(interfaceName).append(".super.").append(getter.name).append("();\n");
+			}
+			else source.append(getter.name).append(getter.read).append(";\n");
+			source.append("\t}\n");
+		}
+		source.append("}\n");
+
+		String generatedName = packageName.isEmpty() ? className : packageName + '.' + className;
+		try(Writer writer = processingEnv.getFiler().createSourceFile(generatedName, config).openWriter())
+		{
+			writer.write(source.toString());
+		}
+	}
+
+	private static String getFlatName(final TypeElement type)
+	{
+		Element enclosing = type.getEnclosingElement();
+		if(enclosing instanceof TypeElement) return getFlatName((TypeElement) enclosing) + '_' + type.getSimpleName();
+		return type.getSimpleName().toString();
+	}
+
+	private static String escape(final String key)
+	{
+		return key.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+
+	private void error(final String message, final Element element)
+	{
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+	private static final class Getter
+	{
+		private final String name, key, type, read;
+		private final boolean hasDefault;
+
+		private Getter(final String name, final String key, final String type, final String read, final boolean hasDefault)
+		{
+			this.name = name;
+			this.key = key;
+			this.type = type;
+			this.read = read;
+			this.hasDefault = hasDefault;
+		}
+
+		static Getter create(final ExecutableElement method, final String section)
+		{
+			if(!method.getParameters().isEmpty() || !method.getTypeParameters().isEmpty()) return null;
+			String read = getReadExpression(method.getReturnType());
+			if(read == null) return null;
+			String name = method.getSimpleName().toString();
+			YamlKey keyAnnotation = method.getAnnotation(YamlKey.class);
+			String key = (keyAnnotation != null) ? keyAnnotation.value() : getKey(name);
+			if(!section.isEmpty()) key = section + '.' + key;
+			return new Getter(name, key, getTypeName(method.getReturnType()), read, method.isDefault());
+		}
+
+		private static String getKey(final String methodName)
+		{
+			for(String prefix : new String[] { "get", "is" })
+			{
+				if(methodName.length() > prefix.length() && methodName.startsWith(prefix) && Character.isUpperCase(methodName.charAt(prefix.length())))
+				{
+					return Character.toLowerCase(methodName.charAt(prefix.length())) + methodName.substring(prefix.length() + 1);
+				}
+			}
+			return methodName;
+		}
+
+		private static String getTypeName(final TypeMirror type)
+		{
+			if(type.getKind().isPrimitive()) return type.getKind().name().toLowerCase(Locale.ROOT);
+			return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+		}
+
+		/**
+		 * @return The code reading the value with the given type from a YamlValue, null if the type is not supported
+		 */
+		private static String getReadExpression(final TypeMirror type)
+		{
+			switch(type.getKind())
+			{
+				case INT: return ".getValueAsInt()";
+				case LONG: return ".getValueAsLong()";
+				case DOUBLE: return ".getValueAsDouble()";
+				case FLOAT: return ".getValueAsFloat()";
+				case BOOLEAN: return ".getValueAsBoolean()";
+				case SHORT: return ".getValueAsShort()";
+				case BYTE: return ".getValueAsByte()";
+				case CHAR: return ".getValueAs(Character.class)";
+				case DECLARED:
+					DeclaredType declaredType = (DeclaredType) type;
+					if(!declaredType.getTypeArguments().isEmpty()) return null;
+					String name = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+					if(name.equals("java.lang.String")) return ".getValue()";
+					return ".getValueAs(" + name + ".class)";
+				default: return null;
+			}
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package at.pcgamingfreaks.yaml.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the key of a method of a {@link YamlConfig}, relative to the section of the config.
+ * Methods without the annotation use their name as key, without a leading {@code get} or {@code is} (e.g. {@code getPort()} uses the key {@code port}).
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface YamlKey
+{
+	/**
+	 * @return The key of the value
+	 */
+	String value();
+}
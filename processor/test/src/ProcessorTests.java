@@ -0,0 +1,108 @@
+import at.pcgamingfreaks.yaml.YAML;
+import at.pcgamingfreaks.yaml.YamlGetter;
+import at.pcgamingfreaks.yaml.YamlKeyNotFoundException;
+import at.pcgamingfreaks.yaml.processor.YamlConfigProcessor;
+
+import org.junit.Test;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
+
+public class ProcessorTests
+{
+	private static final String CONFIG_SOURCE = "package test;\n" +
+			"import at.pcgamingfreaks.yaml.processor.*;\n" +
+			"@YamlConfig(\"database\")\n" +
+			"public interface DbConfig\n" +
+			"{\n" +
+			"	String host();\n" +
+			"	default int getPort() { return 5432; }\n" +
+			"	boolean isSsl();\n" +
+			"	@YamlKey(\"pool.max-size\") long maxPoolSize();\n" +
+			"	default java.time.Duration timeout() { return java.time.Duration.ofSeconds(30); }\n" +
+			"}\n";
+
+	private static Path compile(final String source, final DiagnosticCollector<JavaFileObject> diagnostics) throws IOException
+	{
+		Path directory = Files.createTempDirectory("yaml-processor");
+		Path sourceFile = directory.resolve("DbConfig.java");
+		Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try(StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8))
+		{
+			JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+					Arrays.asList("-d", directory.toString(), "-s", directory.toString(), "-classpath", System.getProperty("java.class.path")),
+					null, fileManager.getJavaFileObjects(sourceFile.toFile()));
+			task.setProcessors(Collections.singletonList(new YamlConfigProcessor()));
+			return task.call() ? directory : null;
+		}
+	}
+
+	@Test
+	public void testGeneratedConfig() throws Exception
+	{
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		Path directory = compile(CONFIG_SOURCE, diagnostics);
+		assertNotNull(diagnostics.getDiagnostics().toString(), directory);
+		try(URLClassLoader loader = new URLClassLoader(new URL[] { directory.toUri().toURL() }, getClass().getClassLoader());
+			YAML yaml = new YAML("database:\n  host: localhost\n  ssl: true\n  pool:\n    max-size: 20\n  timeout: PT5S\n"))
+		{
+			Class<?> configClass = loader.loadClass("test.DbConfigYaml");
+			Object config = configClass.getConstructor(YamlGetter.class).newInstance(yaml);
+			assertEquals("localhost", configClass.getMethod("host").invoke(config));
+			assertEquals(5432, configClass.getMethod("getPort").invoke(config));
+			assertEquals(true, configClass.getMethod("isSsl").invoke(config));
+			assertEquals(20L, configClass.getMethod("maxPoolSize").invoke(config));
+			assertEquals(Duration.ofSeconds(5), configClass.getMethod("timeout").invoke(config));
+			yaml.set("database.host", "remote"); // The values are kept, changes of them are visible
+			assertEquals("remote", configClass.getMethod("host").invoke(config));
+
+			yaml.load("database:\n  host: localhost\n");
+			try
+			{
+				configClass.getConstructor(YamlGetter.class).newInstance(yaml);
+				fail("The keys without default value are missing");
+			}
+			catch(InvocationTargetException e)
+			{
+				assertTrue(e.getCause() instanceof YamlKeyNotFoundException);
+			}
+		}
+	}
+
+	@Test
+	public void testUnsupportedMethod() throws IOException
+	{
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		assertNull(compile(CONFIG_SOURCE.replace("String host();", "java.util.List<String> host();"), diagnostics));
+		assertEquals(Diagnostic.Kind.ERROR, diagnostics.getDiagnostics().get(0).getKind());
+	}
+
+	@Test
+	public void testGenericInterface() throws IOException
+	{
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		assertNull(compile(CONFIG_SOURCE.replace("public interface DbConfig", "public interface DbConfig<T>"), diagnostics));
+		assertEquals(Diagnostic.Kind.ERROR, diagnostics.getDiagnostics().get(0).getKind());
+	}
+
+	@Test
+	public void testPrivateMethod() throws IOException
+	{
+		assumeFalse("Private interface methods need Java 9", System.getProperty("java.version").startsWith("1."));
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		assertNotNull(diagnostics.getDiagnostics().toString(), compile(CONFIG_SOURCE.replace("String host();", "String host();\n	private String prefix() { return \"db\"; }"), diagnostics));
+	}
+}
@@ -0,0 +1,341 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+
+/**
+ * Thread safe YAML object, for yaml data that is read by many threads and only changed rarely.
+ * Reads don't block each other, they are done without locking and only repeated with a read lock if the data has been changed in the meantime.
+ * Changes are done with a write lock, new data is loaded before the lock is taken so readers only have to wait for the swap.
+ * The value elements returned by the getters are shared with the object, changes made to them are not synchronized with other readers.
+ */
+public class ConcurrentYAML implements AutoCloseable, YamlGetter
+{
+	private final StampedLock lock = new StampedLock();
+	private YAML yaml;
+
+	//region Constructors
+	/**
+	 * Creates an empty YAML object
+	 */
+	public ConcurrentYAML()
+	{
+		yaml = empty();
+	}
+
+	/**
+	 * @param dataString The YAML data that should be processed to the YAML object
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 */
+	public ConcurrentYAML(final @NotNull String dataString) throws YamlInvalidContentException
+	{
+		yaml = new YAML(dataString);
+	}
+
+	/**
+	 * @param file The file that should be loaded to the YAML object
+	 * @throws IOException If any file handling failed
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 */
+	public ConcurrentYAML(final @NotNull File file) throws IOException, YamlInvalidContentException
+	{
+		yaml = new YAML(file);
+	}
+
+	/**
+	 * @param path The file that should be loaded to the YAML object
+	 * @throws IOException If any file handling failed
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 */
+	public ConcurrentYAML(final @NotNull Path path) throws IOException, YamlInvalidContentException
+	{
+		yaml = new YAML(path);
+	}
+
+	/**
+	 * @param stream The stream to load data from
+	 * @throws IOException If any handling with the stream failed
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 */
+	public ConcurrentYAML(final @NotNull InputStream stream) throws IOException, YamlInvalidContentException
+	{
+		yaml = new YAML(stream);
+	}
+
+	private static @NotNull YAML empty()
+	{
+		try
+		{
+			return new YAML("");
+		}
+		catch(YamlInvalidContentException e)
+		{
+			throw new IllegalStateException(e); // An empty document is always valid
+		}
+	}
+	//endregion
+
+	//region Locking
+	/**
+	 * Reads from the YAML object without locking. If the object has been changed while reading, the read is repeated with a read lock.
+	 * The reader must not change the object, exceptions thrown by it are only passed on if they are thrown while holding the read lock.
+	 */
+	private <T> T read(final @NotNull Function<YAML, T> reader)
+	{
+		long stamp = lock.tryOptimisticRead();
+		if(stamp != 0)
+		{
+			try
+			{
+				T result = reader.apply(yaml);
+				if(lock.validate(stamp)) return result;
+			}
+			catch(RuntimeException ignored) {} // The data has been changed while reading it, the result is discarded anyway
+		}
+		stamp = lock.readLock();
+		try
+		{
+			return reader.apply(yaml);
+		}
+		finally
+		{
+			lock.unlockRead(stamp);
+		}
+	}
+
+	private void swap(final @NotNull YAML newYaml)
+	{ // The old object is not cleared, readers that started before the swap could still be using it
+		long stamp = lock.writeLock();
+		try
+		{
+			yaml = newYaml;
+		}
+		finally
+		{
+			lock.unlockWrite(stamp);
+		}
+	}
+	//endregion
+
+	//region Load methods
+	/**
+	 * Replaces the content of the YAML object, readers see either the old or the new content
+	 * @param dataString The YAML data that should be processed to the YAML object
+	 * @throws YamlInvalidContentException If the YAML content is invalid, the content of the object is not changed in this case
+	 */
+	public void load(final @NotNull String dataString) throws YamlInvalidContentException
+	{
+		swap(new YAML(dataString));
+	}
+
+	/**
+	 * Replaces the content of the YAML object, readers see either the old or the new content
+	 * @param file The file that should be loaded to the YAML object
+	 * @throws IOException If any file handling failed
+	 * @throws YamlInvalidContentException If the YAML content is invalid, the content of the object is not changed in this case
+	 */
+	public void load(final @NotNull File file) throws IOException, YamlInvalidContentException
+	{
+		swap(new YAML(file));
+	}
+
+	/**
+	 * Replaces the content of the YAML object, readers see either the old or the new content
+	 * @param path The file that should be loaded to the YAML object
+	 * @throws IOException If any file handling failed
+	 * @throws YamlInvalidContentException If the YAML content is invalid, the content of the object is not changed in this case
+	 */
+	public void load(final @NotNull Path path) throws IOException, YamlInvalidContentException
+	{
+		swap(new YAML(path));
+	}
+
+	/**
+	 * Replaces the content of the YAML object, readers see either the old or the new content
+	 * @param stream The stream to load data from
+	 * @throws IOException If any handling with the stream failed
+	 * @throws YamlInvalidContentException If the YAML content is invalid, the content of the object is not changed in this case
+	 */
+	public void load(final @NotNull InputStream stream) throws IOException, YamlInvalidContentException
+	{
+		swap(new YAML(stream));
+	}
+	//endregion
+
+	//region Save methods
+	/**
+	 * Saves the content of the YAML object into a file
+	 * @throws FileNotFoundException If the file could not be found
+	 */
+	public void save(final @NotNull File file) throws FileNotFoundException
+	{
+		long stamp = lock.readLock();
+		try
+		{
+			yaml.save(file);
+		}
+		finally
+		{
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Saves the content of the YAML object into a file on a background thread, see {@link YAML#saveAsync(File)}
+	 * @return A future that is completed when the file has been written
+	 */
+	public @NotNull CompletableFuture<Void> saveAsync(final @NotNull File file)
+	{
+		long stamp = lock.readLock();
+		try
+		{
+			return yaml.saveAsync(file);
+		}
+		finally
+		{
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Saves the content of the YAML object into a string
+	 * @return The YAML string that represents the object
+	 */
+	public @NotNull String saveAsString()
+	{
+		long stamp = lock.readLock();
+		try
+		{
+			return yaml.saveAsString();
+		}
+		finally
+		{
+			lock.unlockRead(stamp);
+		}
+	}
+	//endregion
+
+	/**
+	 * Function to clear all data of the YAML object
+	 */
+	public void clear()
+	{
+		swap(empty());
+	}
+
+	@Override
+	public void close()
+	{
+		clear();
+	}
+
+	//region getter
+	@Override
+	public boolean isSet(final @NotNull String key)
+	{
+		return read(yaml -> yaml.isSet(key));
+	}
+
+	@Override
+	public boolean isSet(final @NotNull YamlPath path)
+	{
+		return read(yaml -> yaml.isSet(path));
+	}
+
+	@Override
+	public @Nullable YamlValue getValue(final @NotNull String key)
+	{
+		return read(yaml -> yaml.getValue(key));
+	}
+
+	@Override
+	public @Nullable YamlValue getValue(final @NotNull YamlPath path)
+	{
+		return read(yaml -> yaml.getValue(path));
+	}
+
+	@Override
+	public @Nullable List<String> getStringList(final @NotNull String key, final @Nullable List<String> defaultValue)
+	{
+		return read(yaml -> yaml.getStringList(key, defaultValue));
+	}
+
+	@Override
+	public @Nullable List<YamlValue> getValueList(final @NotNull String key)
+	{
+		return read(yaml -> yaml.getValueList(key));
+	}
+
+	@Override
+	public @Nullable List<String> getStringList(final @NotNull YamlPath path, final @Nullable List<String> defaultValue)
+	{
+		return read(yaml -> yaml.getStringList(path, defaultValue));
+	}
+
+	public boolean isList(final @NotNull String key)
+	{
+		return read(yaml -> yaml.isList(key));
+	}
+
+	/**
+	 * Function to get the keys of the YAML object
+	 * @param subKeys If set to false the function only returns the high level keys
+	 * @return The key set of the YAML object
+	 */
+	public @NotNull Set<String> getKeys(final boolean subKeys)
+	{
+		return read(yaml -> yaml.getKeys(subKeys));
+	}
+
+	/**
+	 * Creates an object of the given type from a section of the YAML object, see {@link YAML#bind(String, Class)}.
+	 *
+	 * @param key Key of the section the object should be created from
+	 * @param type The type of the object, it needs a constructor without parameters
+	 * @param <T> The type of the object
+	 * @return The created object
+	 * @throws YamlKeyNotFoundException If the key could not be found in the YAML object
+	 */
+	public <T> @NotNull T bind(final @NotNull String key, final @NotNull Class<T> type) throws YamlKeyNotFoundException
+	{
+		long stamp = lock.readLock();
+		try
+		{
+			return yaml.bind(key, type);
+		}
+		finally
+		{
+			lock.unlockRead(stamp);
+		}
+	}
+	//endregion
+
+	/**
+	 * Sets the value for the given key in the YAML object
+	 * @param key The key for which the value should be set
+	 * @param value The value that should be assigned
+	 */
+	public void set(final @NotNull String key, final @Nullable Object value)
+	{
+		long stamp = lock.writeLock();
+		try
+		{
+			yaml.set(key, value);
+		}
+		finally
+		{
+			lock.unlockWrite(stamp);
+		}
+	}
+}
@@ -5,17 +5,29 @@
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class YAML implements AutoCloseable, YamlGetter
 {
-	private static final int BOM_SIZE = 4;
-
-	private final Map<String, YamlNode> nodeMap = new HashMap<>(), valueNodeMap = new HashMap<>();
+	private final YamlKeyIndex keys = new YamlKeyIndex();
 	private String encoding = "UTF-8", footer;
 	private YamlNode root = null;
+	private YamlLazyLoader lazyLoader = null;
 	private int tabSize = 4;
+	private int version = 0; // Changed whenever nodes are added, replaced or removed, invalidates the nodes cached for the YamlPath handles
+	private volatile PathCache pathCache = null;
 
 	//region Constructors
 	private YAML() {}
@@ -31,6 +43,18 @@ public YAML(final @NotNull File file) throws IOException, YamlInvalidContentExce
 		load(file);
 	}
 
+	/**
+	 * Constructor to initialize a YAML object and load data from a memory mapped file
+	 * @param path The file that should be loaded to the YAML object
+	 * @throws IOException If any file handling failed
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 * @see #load(Path)
+	 */
+	public YAML(final @NotNull Path path) throws IOException, YamlInvalidContentException
+	{
+		load(path);
+	}
+
 	/**
 	 * Constructor to initialize a YAML object and load data from a stream
 	 * @param stream The stream to load data from
@@ -51,6 +75,31 @@ public YAML(final @NotNull String dataString) throws YamlInvalidContentException
 	{
 		load(dataString);
 	}
+
+	/**
+	 * Constructor to initialize a YAML object and load data from a string
+	 * @param dataString The YAML data that should be processed to the YAML object
+	 * @param lazy True if the sections should only be parsed when they are accessed
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 * @see #loadLazy(String)
+	 */
+	public YAML(final @NotNull String dataString, final boolean lazy) throws YamlInvalidContentException
+	{
+		if(lazy) loadLazy(dataString); else load(dataString);
+	}
+
+	/**
+	 * Constructor to initialize a YAML object and load data from a file
+	 * @param path The file that should be loaded to the YAML object
+	 * @param lazy True if the sections should only be parsed when they are accessed
+	 * @throws IOException If any file handling failed
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 * @see #loadLazy(Path)
+	 */
+	public YAML(final @NotNull Path path, final boolean lazy) throws IOException, YamlInvalidContentException
+	{
+		if(lazy) loadLazy(path); else load(path);
+	}
 	//endregion
 
 	//region Load method
@@ -69,65 +118,54 @@ public void load(final @NotNull File file) throws IOException, YamlInvalidConten
 	}
 
 	/**
-	 * Function to load data from a stream to the YAML object
-	 * @param stream The stream from where data should be loaded to the YAML object
-	 * @throws IOException If any handling with the stream failed
+	 * Function to load data from a file to the YAML object.
+	 * The file is mapped into memory and the content is decoded directly from the mapping, so it never gets copied into the heap as a whole.
+	 * The page cache of the mapping can be shared with other processes that read the same file.
+	 * Note: Some operating systems (e.g. Windows) don't allow writing the file while the mapping has not been garbage collected yet.
+	 *
+	 * @param path The file to load data from
+	 * @throws IOException If any file handling failed
 	 * @throws YamlInvalidContentException If the YAML content is invalid
 	 */
-	public void load(final @NotNull InputStream stream) throws IOException, YamlInvalidContentException
+	public void load(final @NotNull Path path) throws IOException, YamlInvalidContentException
 	{
-		byte[] bom = new byte[BOM_SIZE];
-		encoding = "UTF-8";
-		int unread;
-		try(PushbackInputStream pushbackInputStream = new PushbackInputStream(stream, BOM_SIZE))
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
 		{
-			int count = unread = pushbackInputStream.read(bom, 0, BOM_SIZE);
-			if(count >= 3 && bom[0] == (byte) 0xEF && bom[1] == (byte) 0xBB && bom[2] == (byte) 0xBF)
+			long size = channel.size();
+			if(size > Integer.MAX_VALUE) // Too big to be mapped into a single buffer
 			{
-				encoding = "UTF-8";
-				unread = count - 3;
-			}
-			else if(count >= 2 && bom[0] == (byte) 0xFE && bom[1] == (byte) 0xFF)
-			{
-				encoding = "UTF-16BE";
-				unread = count - 2;
+				load(Channels.newInputStream(channel));
+				return;
 			}
-			else if(count >= 2 && bom[0] == (byte) 0xFF && bom[1] == (byte) 0xFE)
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if(load(YamlParallelReader.process(buffer)))
 			{
-				if(count >= 4 && bom[2] == (byte) 0x00 && bom[3] == (byte) 0x00)
-				{
-					encoding = "UTF-32LE";
-					unread = count - 4;
-				}
-				else
-				{
-					encoding = "UTF-16LE";
-					unread = count - 2;
-				}
-			}
-			else if(count >= 4 && bom[0] == (byte) 0x00 && bom[1] == (byte) 0x00 && bom[2] == (byte) 0xFE && bom[3] == (byte) 0xFF)
-			{
-				encoding = "UTF-32BE";
-				unread = count - 4;
-			}
-			if(unread > 0)
-			{
-				pushbackInputStream.unread(bom, (count - unread), unread);
-			}
-			else if(unread < -1)
-			{
-				pushbackInputStream.unread(bom, 0, 0);
-			}
-			try(Scanner scanner = new Scanner(pushbackInputStream, encoding))
-			{
-				if (scanner.hasNext()) {
-					load(scanner.useDelimiter("\\Z").next());
-				}
-				else
-				{
-					load("");
-				}
+				encoding = "UTF-8";
+				return;
 			}
+			load(new YamlLineDecoder(buffer));
+		}
+	}
+
+	/**
+	 * Function to load data from a stream to the YAML object.
+	 * The stream is decoded in small chunks and processed line by line, so the content never has to be held in memory as a whole.
+	 *
+	 * @param stream The stream from where data should be loaded to the YAML object
+	 * @throws IOException If any handling with the stream failed
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 */
+	public void load(final @NotNull InputStream stream) throws IOException, YamlInvalidContentException
+	{
+		load(new YamlLineDecoder(stream));
+	}
+
+	private void load(final @NotNull YamlLineDecoder lineDecoder) throws IOException, YamlInvalidContentException
+	{
+		try(YamlLineDecoder decoder = lineDecoder; YamlReader reader = new YamlReader(decoder))
+		{
+			encoding = decoder.getEncoding();
+			load(reader);
 		}
 	}
 
@@ -137,11 +175,10 @@ else if(unread < -1)
 	 */
 	public void load(final @NotNull String dataString) throws YamlInvalidContentException
 	{
+		if(load(YamlParallelReader.process(dataString))) return;
 		try(YamlReader reader = new YamlReader(dataString))
 		{
-			load(reader.process());
-			footer = reader.getFooterComment();
-			tabSize = reader.getTabSize();
+			load(reader);
 		}
 		catch(YamlInvalidContentException e)
 		{
@@ -153,6 +190,76 @@ public void load(final @NotNull String dataString) throws YamlInvalidContentExce
 		}
 	}
 
+	/**
+	 * Function to load data from a given string to the YAML object without parsing it completely.
+	 * Only the top-level keys get indexed, their sections are parsed when a key inside of them is accessed for the first time.
+	 * Functions that need the whole document (e.g. {@link #getKeys()} or {@link #saveAsString()}) parse all the remaining sections.
+	 * Documents that can't be split into independent sections (e.g. because they are indented with tabs) are loaded completely.
+	 *
+	 * @param dataString The data string from which data should be loaded to the object
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 */
+	public void loadLazy(final @NotNull String dataString) throws YamlInvalidContentException
+	{
+		YamlLazyLoader loader = YamlLazyLoader.index(dataString);
+		if(loader == null)
+		{
+			load(dataString);
+			return;
+		}
+		clear();
+		lazyLoader = loader;
+		root = loader.getRoot();
+		keys.putNode("", root);
+		footer = loader.getFooterComment();
+		tabSize = loader.getTabSize();
+	}
+
+	/**
+	 * Function to load data from a file to the YAML object without parsing it completely.
+	 * The file is read into memory, the sections are parsed when they are accessed for the first time.
+	 *
+	 * @param path The file to load data from
+	 * @throws IOException If any file handling failed
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 * @see #loadLazy(String)
+	 */
+	public void loadLazy(final @NotNull Path path) throws IOException, YamlInvalidContentException
+	{
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			long size = channel.size();
+			if(size > Integer.MAX_VALUE) // Too big to be loaded into a single string
+			{
+				load(Channels.newInputStream(channel));
+				return;
+			}
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			String fileEncoding = YamlLineDecoder.detectEncoding(buffer);
+			loadLazy(Charset.forName(fileEncoding).decode(buffer).toString());
+			encoding = fileEncoding;
+		}
+	}
+
+	private void load(final @NotNull YamlReader reader) throws IOException, YamlInvalidContentException
+	{
+		load(reader.process());
+		footer = reader.getFooterComment();
+		tabSize = reader.getTabSize();
+	}
+
+	private boolean load(final @Nullable YamlParallelReader reader)
+	{
+		if(reader == null) return false;
+		clear();
+		root = reader.getRoot();
+		keys.putNode("", root);
+		reader.copyKeys(keys);
+		footer = reader.getFooterComment();
+		tabSize = reader.getTabSize();
+		return true;
+	}
+
 	/**
 	 * Function to load data from a given yaml tree to the YAML object
 	 * @param root The root node of the yaml object from which data should be loaded
@@ -161,7 +268,7 @@ public void load(final @NotNull YamlNode root)
 	{
 		clear();
 		this.root = root;
-		load("", root);
+		keys.add(root);
 	}
 
 	/**
@@ -173,24 +280,78 @@ public void loadNewRoot(final @NotNull YamlNode root)
 		clear();
 		this.root = new YamlNode(root);
 		this.root.setName("");
-		load("", this.root);
+		keys.add(this.root);
 	}
 
-	private void load(@NotNull String parentKey, final @NotNull YamlNode node)
+	/**
+	 * Parses the lazy loaded sections that could contain the given key.
+	 *
+	 * @param key The key that should be accessed
+	 */
+	private void loadLazyKey(final @NotNull String key)
 	{
-		if(parentKey.length() > 0) parentKey += '.';
-		parentKey += node.getName();
-		nodeMap.put(parentKey, node);
-		if(node.hasValue() || node.isArray()) valueNodeMap.put(parentKey, node);
-		if(!node.isList())
+		if(lazyLoader == null) return;
+		if(key.isEmpty()) loadLazyAll();
+		else
 		{
-			for(YamlElement child : node.getElements())
-			{
-				if(child instanceof YamlNode)
-				{
-					load(parentKey, (YamlNode) child);
-				}
+			lazyLoader.load(key, keys);
+			if(lazyLoader.isLoaded()) lazyLoader = null;
+		}
+	}
+
+	private void loadLazyAll()
+	{
+		if(lazyLoader == null) return;
+		lazyLoader.loadAll(keys);
+		lazyLoader = null;
+	}
+
+	private @Nullable YamlNode getNode(final @NotNull String key, final boolean valueNode)
+	{
+		YamlNode node = valueNode ? keys.getValueNode(key) : keys.getNode(key);
+		if(lazyLoader != null && (node == null || key.isEmpty()))
+		{
+			loadLazyKey(key);
+			node = valueNode ? keys.getValueNode(key) : keys.getNode(key);
+		}
+		return node;
+	}
+
+	private @Nullable YamlNode getValueNode(final @NotNull YamlPath path)
+	{
+		int id = path.getId();
+		PathCache cache = pathCache;
+		if(cache != null && cache.version == version && id < cache.nodes.length)
+		{
+			YamlNode node = cache.nodes[id];
+			if(node != null) return node;
+		}
+		YamlNode node = getNode(path.getKey(), true);
+		if(node != null && id < YamlPath.MAX_CACHED)
+		{
+			if(cache == null || cache.version != version || id >= cache.nodes.length)
+			{ // Nodes cached for the same version are kept
+				YamlNode[] nodes = (cache != null && cache.version == version) ? Arrays.copyOf(cache.nodes, Math.max(id + 1, cache.nodes.length * 2)) : new YamlNode[Math.max(id + 1, 16)];
+				cache = new PathCache(version, nodes);
+				pathCache = cache;
 			}
+			cache.nodes[id] = node;
+		}
+		return node;
+	}
+
+	/**
+	 * Nodes of the {@link YamlPath} handles for a version of the object, indexed by the ids of the handles
+	 */
+	private static final class PathCache
+	{
+		private final int version;
+		private final YamlNode[] nodes;
+
+		PathCache(final int version, final @NotNull YamlNode[] nodes)
+		{
+			this.version = version;
+			this.nodes = nodes;
 		}
 	}
 	//endregion
@@ -202,10 +363,19 @@ private void load(@NotNull String parentKey, final @NotNull YamlNode node)
 	 */
 	public void save(@NotNull File file) throws FileNotFoundException
 	{
-		try(FileOutputStream stream = new FileOutputStream(file); PrintStream out = new PrintStream(stream, true, encoding))
+		save(file, false);
+	}
+
+	/**
+	 * Saves the content of the YAML object into a file
+	 * @param parallel If set to true the top level sections are created in parallel, see {@link #save(Writer, boolean)}
+	 * @throws FileNotFoundException If the file could not be found
+	 */
+	public void save(final @NotNull File file, final boolean parallel) throws FileNotFoundException
+	{
+		try(FileOutputStream stream = new FileOutputStream(file))
 		{
-			out.append(saveAsString());
-			out.flush();
+			save(stream, parallel);
 		}
 		catch(FileNotFoundException e)
 		{
@@ -217,6 +387,99 @@ public void save(@NotNull File file) throws FileNotFoundException
 		}
 	}
 
+	/**
+	 * Saves the content of the YAML object into a file on a background thread, the calling thread only has to create the document.
+	 * If the file is saved again before the document has been written, only the newest document is written.
+	 * A document that is the same as the one written last is not written again.
+	 * The document is written to a temp file that is forced to the disk and then replaces the file, so the file is never left half written, not even by a crash.
+	 *
+	 * @param file The file the YAML data should be written to
+	 * @return A future that is completed when the file has been written, or completed exceptionally if writing it failed (errors are not reported in any other way)
+	 */
+	public @NotNull CompletableFuture<Void> saveAsync(final @NotNull File file)
+	{
+		return YamlAsyncSaver.save(file, saveAsString(), Charset.forName(encoding));
+	}
+
+	/**
+	 * Writes the content of the YAML object to a writer, the document is written while it is created and is never held in memory as a whole.
+	 * The writer is flushed but not closed.
+	 *
+	 * @param writer The writer the YAML data should be written to
+	 * @throws IOException If writing to the writer fails
+	 */
+	public void save(final @NotNull Writer writer) throws IOException
+	{
+		save(writer, false);
+	}
+
+	/**
+	 * Writes the content of the YAML object to a writer. The writer is flushed but not closed.
+	 * When writing in parallel, each top level section is created in its own buffer on the common {@link java.util.concurrent.ForkJoinPool} and the buffers are written in order.
+	 * The output is the same as when writing sequentially, but the buffers of the sections that are currently created are held in memory.
+	 *
+	 * @param writer The writer the YAML data should be written to
+	 * @param parallel If set to true the top level sections are created in parallel
+	 * @throws IOException If writing to the writer fails
+	 */
+	public void save(final @NotNull Writer writer, final boolean parallel) throws IOException
+	{
+		loadLazyAll();
+		if(root == null)
+		{
+			if(footer != null) writer.write(footer);
+		}
+		else
+		{
+			try(YamlWriter yamlWriter = new YamlWriter(root, tabSize, footer))
+			{
+				yamlWriter.process(writer, parallel);
+			}
+			catch(YamlInvalidContentException e)
+			{
+				e.printStackTrace();
+			}
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Writes the content of the YAML object to a stream using the encoding of the YAML object.
+	 * The stream is flushed but not closed.
+	 *
+	 * @param stream The stream the YAML data should be written to
+	 * @throws IOException If writing to the stream fails
+	 */
+	public void save(final @NotNull OutputStream stream) throws IOException
+	{
+		save(stream, false);
+	}
+
+	/**
+	 * Writes the content of the YAML object to a stream using the encoding of the YAML object.
+	 * The stream is flushed but not closed.
+	 *
+	 * @param stream The stream the YAML data should be written to
+	 * @param parallel If set to true the top level sections are created in parallel, see {@link #save(Writer, boolean)}
+	 * @throws IOException If writing to the stream fails
+	 */
+	public void save(final @NotNull OutputStream stream, final boolean parallel) throws IOException
+	{
+		save(new OutputStreamWriter(stream, encoding), parallel);
+	}
+
+	/**
+	 * Writes the content of the YAML object to a channel using the encoding of the YAML object.
+	 * The channel is not closed.
+	 *
+	 * @param channel The channel the YAML data should be written to
+	 * @throws IOException If writing to the channel fails
+	 */
+	public void save(final @NotNull WritableByteChannel channel) throws IOException
+	{
+		save(Channels.newWriter(channel, encoding));
+	}
+
 	/**
 	 * Saves the content of the YAML object into a stream
 	 * @return The YAML stream that represents the object
@@ -224,12 +487,8 @@ public void save(@NotNull File file) throws FileNotFoundException
 	 */
 	public @NotNull OutputStream saveAsStream() throws IOException
 	{
-		OutputStream stream = new ByteArrayOutputStream();
-		try(DataOutputStream out = new DataOutputStream(stream))
-		{
-			out.writeBytes(saveAsString());
-			out.flush();
-		}
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		save(stream);
 		return stream;
 	}
 
@@ -239,18 +498,31 @@ public void save(@NotNull File file) throws FileNotFoundException
 	 */
 	public @NotNull String saveAsString()
 	{
-		try(YamlWriter writer = new YamlWriter(root, tabSize, footer))
+		StringWriter writer = new StringWriter();
+		try
 		{
-			return writer.process();
+			save(writer);
 		}
-		catch(Exception e)
+		catch(IOException e)
 		{
-			e.printStackTrace();
+			e.printStackTrace(); // A StringWriter never throws
 		}
-		return "";
+		return writer.toString();
 	}
 	//endregion
 
+	/**
+	 * Creates an immutable snapshot of the values of the YAML object, it can be shared by any number of threads without synchronization.
+	 * Changes of the YAML object made after the snapshot has been created are not visible in the snapshot.
+	 *
+	 * @return The snapshot
+	 * @see YamlSnapshotRef
+	 */
+	public @NotNull YamlSnapshot freeze()
+	{
+		return new YamlSnapshot(this);
+	}
+
 	//region Cleanup methods
 	/**
 	 * Function to clear all data of the YAML object
@@ -258,9 +530,11 @@ public void save(@NotNull File file) throws FileNotFoundException
 	public void clear()
 	{
 		root = null;
-		nodeMap.clear();
-		valueNodeMap.clear();
+		lazyLoader = null;
+		keys.clear();
 		footer = "";
+		version++;
+		pathCache = null;
 	}
 
 	/**
@@ -290,7 +564,13 @@ public void close()
 	@Override
 	public boolean isSet(@NotNull String key)
 	{
-		return valueNodeMap.containsKey(key);
+		return getNode(key, true) != null;
+	}
+
+	@Override
+	public boolean isSet(@NotNull YamlPath path)
+	{
+		return getValueNode(path) != null;
 	}
 
 	/**
@@ -299,12 +579,56 @@ public boolean isSet(@NotNull String key)
 	 */
 	public @NotNull Set<String> getKeys()
 	{
-		return new HashSet<>(valueNodeMap.keySet());
+		return getKeys(true);
 	}
 
 	public @NotNull Collection<String> getKeysFiltered(final @Language("RegExp") String filterRegex)
 	{
-		return getKeys().stream().filter(key -> key.matches(filterRegex)).collect(Collectors.toList());
+		Pattern filter = Pattern.compile(filterRegex);
+		return getKeys().stream().filter(key -> filter.matcher(key).matches()).collect(Collectors.toList());
+	}
+
+	/**
+	 * Finds the keys holding values that match a path pattern, e.g. {@code servers.*.port} or {@code **.timeout}.
+	 * The keys are found while the stream is consumed, the YAML object must not be modified in the meantime.
+	 *
+	 * @param path The path pattern, see {@link YamlPathQuery} for the syntax
+	 * @return A stream of the matching keys in the order of the document
+	 */
+	public @NotNull Stream<String> query(final @NotNull String path)
+	{
+		return query(YamlPathQuery.compile(path));
+	}
+
+	/**
+	 * Finds the keys holding values that match a compiled path pattern.
+	 * The keys are found while the stream is consumed, the YAML object must not be modified in the meantime.
+	 *
+	 * @param query The compiled path pattern
+	 * @return A stream of the matching keys in the order of the document
+	 */
+	public @NotNull Stream<String> query(final @NotNull YamlPathQuery query)
+	{
+		return find(query).map(Map.Entry::getKey);
+	}
+
+	/**
+	 * Finds the values of the keys that match a path pattern. Keys holding lists are skipped.
+	 * The values are found while the stream is consumed, the YAML object must not be modified in the meantime.
+	 *
+	 * @param path The path pattern, see {@link YamlPathQuery} for the syntax
+	 * @return A stream of the values of the matching keys in the order of the document
+	 */
+	public @NotNull Stream<YamlValue> queryValues(final @NotNull String path)
+	{
+		return find(YamlPathQuery.compile(path)).map(entry -> entry.getValue().getValue()).filter(Objects::nonNull);
+	}
+
+	private @NotNull Stream<Map.Entry<String, YamlNode>> find(final @NotNull YamlPathQuery query)
+	{
+		loadLazyAll();
+		Iterator<Map.Entry<String, YamlNode>> iterator = keys.find(query, true);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
 	}
 
 	/**
@@ -314,40 +638,22 @@ public boolean isSet(@NotNull String key)
 	 */
 	public @NotNull Set<String> getKeys(boolean subKeys)
 	{
-		if (subKeys)
-		{
-			return getKeys();
-		}
+		loadLazyAll();
 		Set<String> returnedKeys = new HashSet<>();
-		for (String key : getKeys())
-		{
-			if (key.indexOf('.') < 0)
-			{
-				returnedKeys.add(key);
-			}
-		}
+		keys.collectKeys(true, subKeys, returnedKeys);
 		return returnedKeys;
 	}
 
 	public Set<String> getNodeKeys()
 	{
-		return new HashSet<>(nodeMap.keySet());
+		return getNodeKeys(true);
 	}
 
 	public Set<String> getNodeKeys(boolean subKeys)
 	{
-		if (subKeys)
-		{
-			return getNodeKeys();
-		}
+		loadLazyAll();
 		Set<String> returnedKeys = new HashSet<>();
-		for(String key : getNodeKeys())
-		{
-			if (key.indexOf('.') < 0)
-			{
-				returnedKeys.add(key);
-			}
-		}
+		keys.collectKeys(false, subKeys, returnedKeys);
 		return returnedKeys;
 	}
 
@@ -360,7 +666,15 @@ public Set<String> getNodeKeys(boolean subKeys)
 	@Override
 	public @Nullable YamlValue getValue(@NotNull String key)
 	{
-		YamlNode node = valueNodeMap.get(key);
+		YamlNode node = getNode(key, true);
+		if(node != null) return node.getValue();
+		return null;
+	}
+
+	@Override
+	public @Nullable YamlValue getValue(@NotNull YamlPath path)
+	{
+		YamlNode node = getValueNode(path);
 		if(node != null) return node.getValue();
 		return null;
 	}
@@ -374,7 +688,26 @@ public Set<String> getNodeKeys(boolean subKeys)
 	@Override
 	public @Nullable List<String> getStringList(@NotNull String key, @Nullable List<String> defaultValue)
 	{
-		YamlNode node = valueNodeMap.get(key);
+		YamlNode node = getNode(key, true);
+		if(node != null)
+		{
+			List<String> list = node.getValuesAsStringList();
+			if(list != null) return list;
+		}
+		return defaultValue;
+	}
+
+	@Override
+	public @Nullable List<YamlValue> getValueList(@NotNull String key)
+	{
+		YamlNode node = getNode(key, true);
+		return (node != null) ? node.getValues() : null;
+	}
+
+	@Override
+	public @Nullable List<String> getStringList(@NotNull YamlPath path, @Nullable List<String> defaultValue)
+	{
+		YamlNode node = getValueNode(path);
 		if(node != null)
 		{
 			List<String> list = node.getValuesAsStringList();
@@ -390,23 +723,58 @@ public Set<String> getNodeKeys(boolean subKeys)
 	 */
 	public @NotNull YAML getSection(@NotNull String key) throws YamlKeyNotFoundException
 	{
-		YamlNode node = nodeMap.get(key);
+		YamlNode node = getNode(key, false);
 		if(node == null) throw new YamlKeyNotFoundException("Key " + key + " not found");
 		YAML section = new YAML();
 		section.loadNewRoot(node);
 		return section;
 	}
 
+	/**
+	 * Creates an object of the given type from a section of the YAML object.
+	 * Every field of the type that is not static, final or transient is set to the value of the sub key with the name of the field,
+	 * fields whose type is not supported by the {@link YamlConverters} (and is no list) are bound to the sub key like the section itself.
+	 * Fields without a matching sub key keep the value they got from the constructor.
+	 * The fields of a type are only looked up once, binding many objects of the same type only costs the field writes.
+	 *
+	 * @param key Key of the section the object should be created from
+	 * @param type The type of the object, it needs a constructor without parameters
+	 * @param <T> The type of the object
+	 * @return The created object
+	 * @throws YamlKeyNotFoundException If the key could not be found in the YAML object
+	 * @throws IllegalArgumentException If the type can't be bound or a value can't be converted to the type of its field
+	 */
+	public <T> @NotNull T bind(@NotNull String key, @NotNull Class<T> type) throws YamlKeyNotFoundException
+	{
+		YamlNode node = getNode(key, false);
+		if(node == null) throw new YamlKeyNotFoundException("Key " + key + " not found");
+		return YamlBinder.bind(node, type);
+	}
+
+	/**
+	 * Creates an object of the given type from the YAML object, see {@link #bind(String, Class)}.
+	 *
+	 * @param type The type of the object, it needs a constructor without parameters
+	 * @param <T> The type of the object
+	 * @return The created object
+	 * @throws IllegalArgumentException If the type can't be bound or a value can't be converted to the type of its field
+	 */
+	public <T> @NotNull T bind(@NotNull Class<T> type)
+	{
+		loadLazyAll();
+		return YamlBinder.bind((root != null) ? root : new YamlNode(""), type);
+	}
+
 	public boolean isListE(@NotNull String key) throws YamlKeyNotFoundException
 	{
-		YamlNode node = nodeMap.get(key);
+		YamlNode node = getNode(key, false);
 		if(node == null) throw new YamlKeyNotFoundException("Key " + key + " not found");
 		return node.isList();
 	}
 
 	public boolean isList(@NotNull String key)
 	{
-		YamlNode node = nodeMap.get(key);
+		YamlNode node = getNode(key, false);
 		return node != null && node.isList();
 	}
 	//endregion
@@ -418,18 +786,26 @@ public boolean isList(@NotNull String key)
 	 */
 	public void set(@NotNull String key, @Nullable Object value)
 	{
+		version++;
 		try
 		{
-			if(nodeMap.containsKey(key))
+			if(lazyLoader != null && (key.isEmpty() || keys.getNode(key) == null))
+			{
+				loadLazyKey(key);
+				int split = key.indexOf('.');
+				if(keys.getNode((split < 0) ? key : key.substring(0, split)) == null) loadLazyAll(); // New top-level keys are sorted in between the existing ones
+			}
+			YamlNode existingNode = keys.getNode(key);
+			if(existingNode != null)
 			{
-				nodeMap.get(key).set(value);
+				existingNode.set(value);
 			}
 			else
 			{
-				String[] keys = key.split("\\.");
+				String[] subKeys = key.split("\\.");
 				YamlNode node = root, nNode;
 				StringBuilder keyBuilder = new StringBuilder();
-				for(String sKey : keys)
+				for(String sKey : subKeys)
 				{
 					if(keyBuilder.length() > 0) keyBuilder.append('.');
 					keyBuilder.append(sKey);
@@ -438,12 +814,12 @@ public void set(@NotNull String key, @Nullable Object value)
 					{
 						nNode = new YamlNode(sKey);
 						node.addNode(nNode);
-						nodeMap.put(keyBuilder.toString(), nNode);
+						keys.putNode(keyBuilder.toString(), nNode);
 					}
 					node = nNode;
 				}
 				node.set(value);
-				valueNodeMap.put(keyBuilder.toString(), node);
+				keys.putValueNode(keyBuilder.toString(), node);
 			}
 		}
 		catch(YamlInvalidContentException e)
@@ -0,0 +1,54 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Converts the value elements of lists to primitive arrays, used by the array getters of {@link YamlGetter}.
+ * The values are converted with the getters of the value elements, which keep the converted values.
+ */
+final class YamlArrays
+{
+	private YamlArrays() {}
+
+	static @NotNull int[] toIntArray(@NotNull List<YamlValue> yamlValues) throws NumberFormatException
+	{
+		int[] values = new int[yamlValues.size()];
+		for (int i = 0; i < values.length; i++)
+		{
+			values[i] = yamlValues.get(i).getValueAsInt();
+		}
+		return values;
+	}
+
+	static @NotNull long[] toLongArray(@NotNull List<YamlValue> yamlValues) throws NumberFormatException
+	{
+		long[] values = new long[yamlValues.size()];
+		for (int i = 0; i < values.length; i++)
+		{
+			values[i] = yamlValues.get(i).getValueAsLong();
+		}
+		return values;
+	}
+
+	static @NotNull double[] toDoubleArray(@NotNull List<YamlValue> yamlValues) throws NumberFormatException
+	{
+		double[] values = new double[yamlValues.size()];
+		for (int i = 0; i < values.length; i++)
+		{
+			values[i] = yamlValues.get(i).getValueAsDouble();
+		}
+		return values;
+	}
+
+	static @NotNull boolean[] toBooleanArray(@NotNull List<YamlValue> yamlValues)
+	{
+		boolean[] values = new boolean[yamlValues.size()];
+		for (int i = 0; i < values.length; i++)
+		{
+			values[i] = yamlValues.get(i).getValueAsBoolean();
+		}
+		return values;
+	}
+}
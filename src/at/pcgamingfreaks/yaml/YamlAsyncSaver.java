@@ -0,0 +1,170 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes saved documents to their files on a background thread, see {@link YAML#saveAsync(File)}.
+ * Documents that are saved to the same file while an older one is still waiting to be written replace the older one,
+ * documents that are the same as the last one written to the file are not written again.
+ */
+final class YamlAsyncSaver
+{
+	private static final int MAX_REMEMBERED_HASHES = 1024;
+
+	private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "YAML async save");
+		thread.setDaemon(true);
+		return thread;
+	});
+	// Files with a save that has not been written yet, the entries are removed once all saves of the file are written
+	private static final Map<File, Target> TARGETS = new ConcurrentHashMap<>();
+	// Hashes of the documents written last to the most recently written files, only used by the writer thread
+	private static final Map<File, byte[]> LAST_HASHES = new LinkedHashMap<File, byte[]>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<File, byte[]> eldest)
+		{
+			return size() > MAX_REMEMBERED_HASHES;
+		}
+	};
+
+	private YamlAsyncSaver() {}
+
+	static @NotNull CompletableFuture<Void> save(final @NotNull File file, final @NotNull String content, final @NotNull Charset charset)
+	{
+		File absoluteFile = file.getAbsoluteFile();
+		CompletableFuture<Void> future;
+		do
+		{ // The target could be removed after it has been taken from the map, a new one is created in this case
+			future = TARGETS.computeIfAbsent(absoluteFile, Target::new).submit(content, charset);
+		} while(future == null);
+		return future;
+	}
+
+	private static final class Target
+	{
+		private final File file;
+		// The newest document that has not been written yet and the future of all the saves it replaces
+		private String pendingContent;
+		private Charset pendingCharset;
+		private CompletableFuture<Void> pendingFuture;
+		private boolean removed = false;
+
+		Target(final @NotNull File file)
+		{
+			this.file = file;
+		}
+
+		/**
+		 * @return The future of the save, or null if the target has already been removed from the map
+		 */
+		synchronized @Nullable CompletableFuture<Void> submit(final @NotNull String content, final @NotNull Charset charset)
+		{
+			if(removed) return null;
+			pendingContent = content;
+			pendingCharset = charset;
+			if(pendingFuture == null)
+			{
+				pendingFuture = new CompletableFuture<>();
+				EXECUTOR.execute(this::write);
+			}
+			return pendingFuture;
+		}
+
+		private void write()
+		{
+			byte[] data;
+			CompletableFuture<Void> future;
+			synchronized(this)
+			{
+				data = pendingContent.getBytes(pendingCharset);
+				future = pendingFuture;
+				pendingContent = null;
+				pendingCharset = null;
+				pendingFuture = null;
+			}
+			Exception error = null;
+			try
+			{
+				byte[] hash = MessageDigest.getInstance("SHA-256").digest(data);
+				// The file is only skipped if it still looks like the one written last, it could have been changed or deleted by someone else
+				if(!Arrays.equals(hash, LAST_HASHES.get(file)) || !file.isFile() || file.length() != data.length)
+				{
+					writeAtomic(data);
+					LAST_HASHES.put(file, hash);
+				}
+			}
+			catch(Exception e)
+			{
+				LAST_HASHES.remove(file);
+				error = e;
+			}
+			synchronized(this)
+			{
+				if(pendingFuture == null)
+				{
+					removed = true;
+					TARGETS.remove(file, this);
+				}
+			}
+			// The future is completed after the target has been removed, errors are only reported through it
+			if(error == null) future.complete(null);
+			else future.completeExceptionally(error);
+		}
+
+		/**
+		 * Writes the data to a new temp file next to the target, forces it to the disk and then moves it over the target.
+		 * After a crash the file contains either the complete old or the complete new document, never a partly written one.
+		 * The move itself is not forced to the disk, the old document can still be there after a crash.
+		 */
+		private void writeAtomic(final @NotNull byte[] data) throws IOException
+		{
+			Path target = file.toPath(); // The file is absolute, it always has a parent
+			Files.createDirectories(target.getParent());
+			// createTempFile is not used because it restricts the permissions of the file
+			Path temp = target.resolveSibling("." + file.getName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+			try
+			{
+				try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE))
+				{
+					ByteBuffer buffer = ByteBuffer.wrap(data);
+					while(buffer.hasRemaining()) channel.write(buffer);
+					channel.force(true);
+				}
+				try
+				{
+					Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+				}
+				catch(AtomicMoveNotSupportedException e)
+				{
+					Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+			finally
+			{
+				Files.deleteIfExists(temp);
+			}
+		}
+	}
+}
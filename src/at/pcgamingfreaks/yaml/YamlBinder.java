@@ -0,0 +1,169 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binding plan of a class, used to create objects of the class from the sub nodes of a node.
+ * The plan is created once per class, it holds the handles to create the objects and to write their fields.
+ * Every field that is not static, final or transient is bound to the sub node with the name of the field:
+ * <ul>
+ *     <li>Fields with a type supported by the {@link YamlConverters} are set to the converted value of the sub node</li>
+ *     <li>{@link List} fields are set to a list of the values of the sub node, converted to the element type of the list</li>
+ *     <li>Fields of other types are bound to the sub node like the object itself</li>
+ * </ul>
+ * If a field is bound to a value or a sub section is decided whenever an object is bound, so converters registered later are used for the field.
+ * Fields without a matching sub node keep the value they got from the constructor.
+ */
+final class YamlBinder
+{
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	private static final ClassValue<YamlBinder> BINDERS = new ClassValue<YamlBinder>()
+	{
+		@Override
+		protected YamlBinder computeValue(final Class<?> type)
+		{
+			return new YamlBinder(type);
+		}
+	};
+
+	private final MethodHandle constructor;
+	private final FieldBinding[] fields;
+
+	private YamlBinder(final @NotNull Class<?> type)
+	{
+		if(type.isInterface() || type.isPrimitive() || type.isArray() || Modifier.isAbstract(type.getModifiers()))
+		{
+			throw new IllegalArgumentException("The type " + type.getName() + " can't be bound to a section");
+		}
+		try
+		{
+			Constructor<?> typeConstructor = type.getDeclaredConstructor();
+			typeConstructor.setAccessible(true);
+			constructor = LOOKUP.unreflectConstructor(typeConstructor).asType(MethodType.methodType(Object.class));
+		}
+		catch(NoSuchMethodException | IllegalAccessException | RuntimeException e)
+		{
+			throw new IllegalArgumentException("The type " + type.getName() + " needs an accessible constructor without parameters to be bound to a section", e);
+		}
+		List<FieldBinding> fields = new ArrayList<>();
+		for(Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass())
+		{
+			for(Field field : clazz.getDeclaredFields())
+			{
+				int modifiers = field.getModifiers();
+				if(Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) continue;
+				fields.add(new FieldBinding(field));
+			}
+		}
+		this.fields = fields.toArray(new FieldBinding[0]);
+	}
+
+	/**
+	 * Creates an object from the sub nodes of a node.
+	 *
+	 * @param node The node holding the values of the object
+	 * @param type The type of the object
+	 * @param <T> The type of the object
+	 * @return The created object
+	 * @throws IllegalArgumentException If the type can't be bound or a value can't be converted to the type of its field
+	 */
+	static <T> @NotNull T bind(final @NotNull YamlNode node, final @NotNull Class<T> type)
+	{
+		return type.cast(BINDERS.get(type).bind(node));
+	}
+
+	private @NotNull Object bind(final @NotNull YamlNode node)
+	{
+		try
+		{
+			Object object = constructor.invokeExact();
+			for(FieldBinding field : fields)
+			{
+				YamlNode subNode = node.getSubNode(field.name);
+				if(subNode == null) continue;
+				Object value = field.getValue(subNode);
+				if(value != null) field.setter.invokeExact(object, value);
+			}
+			return object;
+		}
+		catch(RuntimeException | Error e)
+		{
+			throw e;
+		}
+		catch(Throwable e)
+		{
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	private static final class FieldBinding
+	{
+		private final String name;
+		private final MethodHandle setter;
+		private final boolean list;
+		private final Class<?> type; // The type of the field or the type of the elements of a list
+
+		FieldBinding(final @NotNull Field field)
+		{
+			name = field.getName();
+			try
+			{
+				field.setAccessible(true);
+				setter = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+			}
+			catch(IllegalAccessException | RuntimeException e)
+			{
+				throw new IllegalArgumentException("The field " + field + " is not accessible", e);
+			}
+			Class<?> fieldType = field.getType();
+			list = List.class.isAssignableFrom(fieldType) && fieldType.isAssignableFrom(ArrayList.class);
+			type = list ? getElementType(field) : fieldType;
+		}
+
+		/**
+		 * Gets the element type of a list field, lists without type arguments hold strings and wildcards are bound to their upper bound.
+		 */
+		private static @NotNull Class<?> getElementType(final @NotNull Field field)
+		{
+			Type type = field.getGenericType();
+			if(!(type instanceof ParameterizedType)) return String.class;
+			Type elementType = ((ParameterizedType) type).getActualTypeArguments()[0];
+			if(elementType instanceof WildcardType && ((WildcardType) elementType).getLowerBounds().length == 0)
+			{
+				elementType = ((WildcardType) elementType).getUpperBounds()[0];
+			}
+			if(elementType instanceof Class) return (Class<?>) elementType;
+			throw new IllegalArgumentException("The element type " + elementType.getTypeName() + " of the list field " + field + " is not supported");
+		}
+
+		@Nullable Object getValue(final @NotNull YamlNode node)
+		{
+			if(list)
+			{
+				List<YamlValue> values = node.getValues();
+				if(values == null) return null;
+				List<Object> list = new ArrayList<>(values.size());
+				for(YamlValue listValue : values)
+				{
+					list.add(listValue.getValueAs(type));
+				}
+				return list;
+			}
+			if(YamlConverters.has(type))
+			{
+				YamlValue value = node.getValue();
+				return (value != null) ? value.getValueAs(type) : null;
+			}
+			return (node.isValueList() && node.hasValue()) ? null : bind(node, type);
+		}
+	}
+}
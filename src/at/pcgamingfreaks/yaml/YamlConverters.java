@@ -0,0 +1,100 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of the converters used to convert values to other types, see {@link YamlGetter#get(String, Class)}.
+ * Converters for the primitive types and their wrappers, {@link String}, {@link BigDecimal}, {@link BigInteger}, {@link UUID} and {@link Duration} are registered by default,
+ * enums are converted with {@link Enum#valueOf(Class, String)} if no other converter has been registered for them.
+ * The converted values are kept by the values until they are changed, converters should therefore always return the same result for the same string.
+ */
+public final class YamlConverters
+{
+	private static final Map<Class<?>, Function<String, ?>> CONVERTERS = new ConcurrentHashMap<>();
+
+	static
+	{
+		register(String.class, value -> value);
+		register(Byte.class, Byte::valueOf);
+		register(Short.class, Short::valueOf);
+		register(Integer.class, Integer::valueOf);
+		register(Long.class, Long::valueOf);
+		register(Float.class, Float::valueOf);
+		register(Double.class, Double::valueOf);
+		register(Boolean.class, Boolean::valueOf);
+		register(Character.class, YamlConverters::toCharacter);
+		register(BigDecimal.class, BigDecimal::new);
+		register(BigInteger.class, BigInteger::new);
+		register(UUID.class, UUID::fromString);
+		register(Duration.class, Duration::parse);
+	}
+
+	private YamlConverters() {}
+
+	/**
+	 * Registers a converter. A converter that has already been registered for the type is replaced.
+	 *
+	 * @param type The type the converter converts values to, primitive types share the converter of their wrapper type
+	 * @param converter The converter, it should throw an {@link IllegalArgumentException} if a value can't be converted
+	 * @param <T> The type the converter converts values to
+	 */
+	public static <T> void register(final @NotNull Class<T> type, final @NotNull Function<String, ? extends T> converter)
+	{
+		CONVERTERS.put(wrap(type), converter);
+	}
+
+	/**
+	 * Gets the converter for a type.
+	 *
+	 * @param type The type the converter should convert values to
+	 * @return The converter for the type
+	 * @throws IllegalArgumentException If there is no converter for the type
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static @NotNull Function<String, ?> get(final @NotNull Class<?> type)
+	{
+		Function<String, ?> converter = CONVERTERS.get(wrap(type));
+		if(converter != null) return converter;
+		if(type.isEnum())
+		{
+			return CONVERTERS.computeIfAbsent(type, enumType -> value -> Enum.valueOf((Class<? extends Enum>) enumType, value));
+		}
+		throw new IllegalArgumentException("There is no converter for the type " + type.getName());
+	}
+
+	/**
+	 * @return True if values can be converted to the type
+	 */
+	static boolean has(final @NotNull Class<?> type)
+	{
+		return type.isEnum() || CONVERTERS.containsKey(wrap(type));
+	}
+
+	private static char toCharacter(final @NotNull String value)
+	{
+		if(value.length() != 1) throw new IllegalArgumentException("The value \"" + value + "\" could not be converted to a character");
+		return value.charAt(0);
+	}
+
+	private static @NotNull Class<?> wrap(final @NotNull Class<?> type)
+	{
+		if(!type.isPrimitive()) return type;
+		if(type == int.class) return Integer.class;
+		if(type == long.class) return Long.class;
+		if(type == double.class) return Double.class;
+		if(type == float.class) return Float.class;
+		if(type == boolean.class) return Boolean.class;
+		if(type == byte.class) return Byte.class;
+		if(type == short.class) return Short.class;
+		if(type == char.class) return Character.class;
+		return type;
+	}
+}
@@ -0,0 +1,32 @@
+package at.pcgamingfreaks.yaml;
+
+/**
+ * The events reported by the {@link YamlEventReader}
+ */
+public enum YamlEvent
+{
+	/**
+	 * A new key has been found. The new node is the owner of all following events with a greater depth.
+	 */
+	START_MAPPING_KEY,
+	/**
+	 * A value of the current node (or the root if there is no node yet).
+	 */
+	SCALAR,
+	/**
+	 * A list of values starts. Either an inline array (<code>[ a, b ]</code>) or a list with one value per line (<code>- a</code>).
+	 */
+	START_SEQUENCE,
+	/**
+	 * The list of values that has been started last ended.
+	 */
+	END_SEQUENCE,
+	/**
+	 * A line that only contains a comment or is empty.
+	 */
+	COMMENT,
+	/**
+	 * The node started with the last open {@link #START_MAPPING_KEY} with the same depth ended.
+	 */
+	END_NODE
+}
@@ -0,0 +1,563 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Pull parser that reads a yaml document event by event without building a tree.
+ * No {@link YamlNode} or {@link YamlValue} objects are created, names and values are only converted into strings if they are requested.
+ *
+ * <pre>{@code
+ * try(YamlEventReader reader = new YamlEventReader(stream))
+ * {
+ *     while(reader.hasNext())
+ *     {
+ *         if(reader.next() == YamlEvent.START_MAPPING_KEY && reader.getDepth() == 1) System.out.println(reader.getName());
+ *     }
+ * }
+ * }</pre>
+ */
+public class YamlEventReader implements AutoCloseable
+{
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final YamlLineSource lines;
+	private final YamlIsMultiLineException mlException = new YamlIsMultiLineException();
+	private int lineNr = 0, lineStartNr = 0, tabIndentationSize = 4;
+	private boolean tabIndentationSizeSet = false, tabIndented = false, finished = false;
+
+	//region indentation and open node state
+	private int[] indentations = new int[INITIAL_CAPACITY], parentDepths = new int[INITIAL_CAPACITY];
+	private int indentationCount = 1, lastDepth = 0;
+	// State of the open nodes, indexed by depth (0 = root)
+	private int[] valueCounts = new int[INITIAL_CAPACITY];
+	private boolean[] lists = new boolean[INITIAL_CAPACITY], arrays = new boolean[INITIAL_CAPACITY], sequencesOpen = new boolean[INITIAL_CAPACITY];
+	//endregion
+
+	//region event queue
+	private YamlEvent[] types = new YamlEvent[INITIAL_CAPACITY];
+	private String[] sources = new String[INITIAL_CAPACITY];
+	private int[] depths = new int[INITIAL_CAPACITY], starts = new int[INITIAL_CAPACITY], ends = new int[INITIAL_CAPACITY];
+	private int[] commentStarts = new int[INITIAL_CAPACITY], commentEnds = new int[INITIAL_CAPACITY];
+	private char[] quoteChars = new char[INITIAL_CAPACITY];
+	private boolean[] inline = new boolean[INITIAL_CAPACITY];
+	private int queueHead = 0, queueSize = 0, current = -1;
+	//endregion
+
+	/**
+	 * Creates a reader for a yaml string
+	 * @param dataString The yaml document
+	 */
+	public YamlEventReader(final @NotNull String dataString)
+	{
+		this(YamlLineSource.of(dataString));
+	}
+
+	/**
+	 * Creates a reader for a stream. The encoding is detected by the BOM (UTF-8 if there is none), the stream is closed when the reader gets closed.
+	 * @param stream The stream to read the yaml document from
+	 * @throws IOException If reading the start of the stream failed
+	 */
+	public YamlEventReader(final @NotNull InputStream stream) throws IOException
+	{
+		this(new YamlLineDecoder(stream));
+	}
+
+	/**
+	 * Creates a reader for a memory mapped file. The encoding is detected by the BOM (UTF-8 if there is none).
+	 * @param path The file to read the yaml document from
+	 * @throws IOException If mapping the file failed
+	 */
+	public YamlEventReader(final @NotNull Path path) throws IOException
+	{
+		this(map(path));
+	}
+
+	YamlEventReader(final @NotNull YamlLineSource lineSource)
+	{
+		lines = lineSource;
+		indentations[0] = 0;
+		parentDepths[0] = 0;
+	}
+
+	static @NotNull YamlLineDecoder map(final @NotNull Path path) throws IOException
+	{
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			return new YamlLineDecoder(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	//region pull methods
+	/**
+	 * Checks if there are more events
+	 * @return True if there is another event, false if the end of the document is reached
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 * @throws IOException If reading the document failed
+	 */
+	public boolean hasNext() throws YamlInvalidContentException, IOException
+	{
+		while(queueSize == 0 && !finished) readLine();
+		return queueSize > 0;
+	}
+
+	/**
+	 * Moves to the next event
+	 * @return The type of the event
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 * @throws IOException If reading the document failed
+	 * @throws NoSuchElementException If there are no more events
+	 */
+	public @NotNull YamlEvent next() throws YamlInvalidContentException, IOException
+	{
+		if(!hasNext()) throw new NoSuchElementException("The end of the document has been reached");
+		current = queueHead++;
+		queueSize--;
+		return types[current];
+	}
+	//endregion
+
+	//region getters for the current event
+	/**
+	 * @return The type of the current event
+	 */
+	public @NotNull YamlEvent getEvent()
+	{
+		checkCurrent();
+		return types[current];
+	}
+
+	/**
+	 * Gets the depth of the current event. Nodes on the top level have depth 1, values and sequences have the depth of the node they belong to.
+	 * @return The depth of the current event
+	 */
+	public int getDepth()
+	{
+		checkCurrent();
+		return depths[current];
+	}
+
+	/**
+	 * @return The name of the key for a {@link YamlEvent#START_MAPPING_KEY} event (without quotes), null for all other events
+	 */
+	public @Nullable String getName()
+	{
+		checkCurrent();
+		return (types[current] == YamlEvent.START_MAPPING_KEY) ? sources[current].substring(starts[current], ends[current]) : null;
+	}
+
+	/**
+	 * @return The value of a {@link YamlEvent#SCALAR} event (without quotes and escaping), the line of a {@link YamlEvent#COMMENT} event, null for all other events
+	 */
+	public @Nullable String getValue()
+	{
+		checkCurrent();
+		YamlEvent type = types[current];
+		if(type != YamlEvent.SCALAR && type != YamlEvent.COMMENT) return null;
+		if(quoteChars[current] != '\0') return YamlScanner.unescape(sources[current], starts[current], ends[current], quoteChars[current]);
+		return sources[current].substring(starts[current], ends[current]);
+	}
+
+	/**
+	 * @return The inline comment of a {@link YamlEvent#SCALAR} event (including the whitespaces in front of the #), an empty string for all other events
+	 */
+	public @NotNull String getComment()
+	{
+		checkCurrent();
+		return (types[current] == YamlEvent.SCALAR && commentStarts[current] < commentEnds[current]) ? sources[current].substring(commentStarts[current], commentEnds[current]) : "";
+	}
+
+	/**
+	 * @return The string containing the name, value or comment of the current event, the range is provided by {@link #getStart()} and {@link #getEnd()}
+	 */
+	@Nullable String getSource()
+	{
+		checkCurrent();
+		return sources[current];
+	}
+
+	int getStart()
+	{
+		checkCurrent();
+		return starts[current];
+	}
+
+	int getEnd()
+	{
+		checkCurrent();
+		return ends[current];
+	}
+
+	/**
+	 * @return The quote char of the key or value of the current event, null if it was not quoted
+	 */
+	public @Nullable Character getQuoteChar()
+	{
+		checkCurrent();
+		return (quoteChars[current] == '\0') ? null : quoteChars[current];
+	}
+
+	/**
+	 * @return True if the current event belongs to an inline array (<code>[ a, b ]</code>)
+	 */
+	public boolean isInline()
+	{
+		checkCurrent();
+		return inline[current];
+	}
+
+	/**
+	 * @return The number of the line that is currently processed
+	 */
+	public int getLineNumber()
+	{
+		return lineNr;
+	}
+
+	/**
+	 * @return The number of spaces used for one indentation level in the document
+	 */
+	public int getTabSize()
+	{
+		return tabIndentationSize;
+	}
+
+	private void checkCurrent()
+	{
+		if(current < 0) throw new IllegalStateException("next() has not been called yet");
+	}
+	//endregion
+
+	//region event queue
+	private void addEvent(final @NotNull YamlEvent type, final int depth, final @Nullable String source, final int start, final int end, final char quoteChar, final int commentStart, final int commentEnd, final boolean inlineEvent)
+	{
+		if(queueSize == 0 && queueHead > 1)
+		{ // Reuse the queue from the start, the current event stays accessible
+			copyEvent(current, 0);
+			current = 0;
+			queueHead = 1;
+		}
+		int index = queueHead + queueSize;
+		if(index == types.length)
+		{
+			int capacity = types.length * 2;
+			types = Arrays.copyOf(types, capacity);
+			sources = Arrays.copyOf(sources, capacity);
+			depths = Arrays.copyOf(depths, capacity);
+			starts = Arrays.copyOf(starts, capacity);
+			ends = Arrays.copyOf(ends, capacity);
+			commentStarts = Arrays.copyOf(commentStarts, capacity);
+			commentEnds = Arrays.copyOf(commentEnds, capacity);
+			quoteChars = Arrays.copyOf(quoteChars, capacity);
+			inline = Arrays.copyOf(inline, capacity);
+		}
+		types[index] = type;
+		depths[index] = depth;
+		sources[index] = source;
+		starts[index] = start;
+		ends[index] = end;
+		quoteChars[index] = quoteChar;
+		commentStarts[index] = commentStart;
+		commentEnds[index] = commentEnd;
+		inline[index] = inlineEvent;
+		queueSize++;
+	}
+
+	private void copyEvent(final int from, final int to)
+	{
+		types[to] = types[from];
+		depths[to] = depths[from];
+		sources[to] = sources[from];
+		starts[to] = starts[from];
+		ends[to] = ends[from];
+		quoteChars[to] = quoteChars[from];
+		commentStarts[to] = commentStarts[from];
+		commentEnds[to] = commentEnds[from];
+		inline[to] = inline[from];
+	}
+
+	private void addEvent(final @NotNull YamlEvent type, final int depth, final boolean inlineEvent)
+	{
+		addEvent(type, depth, null, 0, 0, '\0', 0, 0, inlineEvent);
+	}
+	//endregion
+
+	//region line processing
+	private String multiline = null;
+	private int mlStartLineNr = -1;
+
+	private void readLine() throws YamlInvalidContentException, IOException
+	{
+		String line = lines.readLine();
+		if(line == null)
+		{
+			if(multiline != null)
+				throw new YamlInvalidContentException("Unexpected end of file! Quoted string value started (" + mlStartLineNr + "), but has no end!");
+			closeNodes(0);
+			if(sequencesOpen[0]) addEvent(YamlEvent.END_SEQUENCE, 0, false);
+			sequencesOpen[0] = false;
+			finished = true;
+			return;
+		}
+		int lineStart = lines.getLineStart(), lineEnd = lines.getLineEnd();
+		lineNr++;
+		//region handle multiline values
+		if(multiline == null) lineStartNr = lineNr;
+		else
+		{
+			int trimmedStart = YamlScanner.trimStart(line, lineStart, lineEnd), trimmedEnd = YamlScanner.trimEnd(line, trimmedStart, lineEnd);
+			line = (trimmedStart == trimmedEnd) ? multiline + '\n' : multiline + ' ' + line.substring(trimmedStart, trimmedEnd);
+			lineStart = 0;
+			lineEnd = line.length();
+			multiline = null;
+		}
+		int escapedLineEnd = YamlScanner.findEscapedLineEnd(line, lineStart, lineEnd);
+		if(escapedLineEnd >= 0) // line ends is escaped
+		{
+			multiline = line.substring(lineStart, escapedLineEnd);
+			if(mlStartLineNr == -1) mlStartLineNr = lineNr;
+			return;
+		}
+		//endregion
+		int queueMark = queueSize;
+		try
+		{
+			processLine(line, lineStart, lineEnd);
+		}
+		catch(YamlIsMultiLineException ignored) // Allows to process stuff that might cause a multiline error to be processed externally.
+		{
+			queueSize = queueMark;
+			if(mlStartLineNr == -1) mlStartLineNr = lineNr;
+			multiline = line.substring(lineStart, lineEnd);
+		}
+	}
+
+	private void processLine(final @NotNull String line, final int lineStart, final int lineEnd) throws YamlInvalidContentException, YamlIsMultiLineException
+	{
+		int start = YamlScanner.trimStart(line, lineStart, lineEnd), end = YamlScanner.trimEnd(line, start, lineEnd);
+		if(start == end || line.charAt(start) == '#') // if line only contains a comment or is empty
+		{
+			addEvent(YamlEvent.COMMENT, lastDepth, line, lineStart, lineEnd, '\0', 0, 0, false);
+			return;
+		}
+		int indentation = spacesTillFirstChar(line, lineStart, lineEnd);
+		while(indentation < indentations[indentationCount - 1])
+		{
+			indentationCount--;
+		}
+		if(indentation > indentations[indentationCount - 1])
+		{
+			if(indentationCount == indentations.length)
+			{
+				indentations = Arrays.copyOf(indentations, indentationCount * 2);
+				parentDepths = Arrays.copyOf(parentDepths, indentationCount * 2);
+			}
+			indentations[indentationCount] = indentation;
+			parentDepths[indentationCount++] = lastDepth;
+		}
+		if(line.charAt(start) == '-')
+		{
+			int valueStart = YamlScanner.trimStart(line, start + 1, end);
+			if(!sequencesOpen[lastDepth]) addEvent(YamlEvent.START_SEQUENCE, lastDepth, false);
+			addValue(line, valueStart, end, lastDepth, false);
+			sequencesOpen[lastDepth] = true;
+			lists[lastDepth] = true;
+		}
+		else
+		{
+			processNode(line, start, end);
+		}
+	}
+
+	private void processNode(final @NotNull String line, final int start, final int end) throws YamlInvalidContentException, YamlIsMultiLineException
+	{
+		//TODO handle multiline strings that are not escaped correctly
+		int keyEnd = YamlScanner.findKeyEnd(line, start, end);
+		if(keyEnd < 0) throw new YamlInvalidContentException("The YAML content is invalid, line: " + lineNr);
+		int parentDepth = parentDepths[indentationCount - 1];
+		if(valueCounts[parentDepth] > 1 || lists[parentDepth] || arrays[parentDepth]) throw new YamlInvalidContentException("It is not possible to add a sub key to a value list!");
+		int openDepth = lastDepth, depth = parentDepth + 1;
+		closeNodes(parentDepth);
+		ensureDepthCapacity(depth);
+		// The node at this depth might still be open if the line turns out to be incomplete, so its state has to be restorable
+		int oldValueCount = valueCounts[depth];
+		boolean oldList = lists[depth], oldArray = arrays[depth], oldSequenceOpen = sequencesOpen[depth];
+		lastDepth = depth;
+		valueCounts[depth] = 0;
+		lists[depth] = arrays[depth] = sequencesOpen[depth] = false;
+		char quoteChar = line.charAt(start);
+		if(quoteChar == '\'' || quoteChar == '"') addEvent(YamlEvent.START_MAPPING_KEY, depth, line, start + 1, keyEnd - 1, quoteChar, 0, 0, false);
+		else addEvent(YamlEvent.START_MAPPING_KEY, depth, line, start, keyEnd, '\0', 0, 0, false);
+		try
+		{
+			int dataStart = YamlScanner.trimStart(line, keyEnd + 1, end);
+			if(dataStart < end)
+			{
+				if(line.charAt(dataStart) == '[')
+				{
+					arrays[depth] = true;
+					readArray(line, dataStart, end, depth);
+				}
+				else
+				{
+					addValue(line, dataStart, end, depth, false);
+				}
+			}
+		}
+		catch(YamlIsMultiLineException e)
+		{
+			// The events get dropped, the line will be processed again together with the next line
+			lastDepth = openDepth;
+			valueCounts[depth] = oldValueCount;
+			lists[depth] = oldList;
+			arrays[depth] = oldArray;
+			sequencesOpen[depth] = oldSequenceOpen;
+			throw e;
+		}
+	}
+
+	private void closeNodes(final int parentDepth)
+	{
+		for(int depth = lastDepth; depth > parentDepth; depth--)
+		{
+			if(sequencesOpen[depth]) addEvent(YamlEvent.END_SEQUENCE, depth, false);
+			addEvent(YamlEvent.END_NODE, depth, false);
+		}
+	}
+
+	private void ensureDepthCapacity(final int depth)
+	{
+		if(depth < valueCounts.length) return;
+		int capacity = valueCounts.length * 2;
+		valueCounts = Arrays.copyOf(valueCounts, capacity);
+		lists = Arrays.copyOf(lists, capacity);
+		arrays = Arrays.copyOf(arrays, capacity);
+		sequencesOpen = Arrays.copyOf(sequencesOpen, capacity);
+	}
+
+	private void readArray(final @NotNull String line, int start, int end, final int depth) throws YamlIsMultiLineException, YamlInvalidContentException
+	{
+		if(line.charAt(end - 1) != ']') throw mlException; //TODO ] at end of multiline string line, comment after array
+		start++;
+		end--;
+		addEvent(YamlEvent.START_SEQUENCE, depth, true);
+		// A comma only separates two values if it is followed by an even number of quotes of each kind
+		int doubleQuotes = YamlScanner.count(line, '"', start, end), singleQuotes = YamlScanner.count(line, '\'', start, end); //TODO escaped " and ' in "
+		int valueStart = start;
+		for(int i = start; i <= end; i++)
+		{
+			char c = (i < end) ? line.charAt(i) : ',';
+			if(c == '"') doubleQuotes--;
+			else if(c == '\'') singleQuotes--;
+			else if(c == ',' && (doubleQuotes & 1) == 0 && (singleQuotes & 1) == 0)
+			{
+				if(i > valueStart)
+				{
+					valueStart = YamlScanner.trimStart(line, valueStart, i);
+					addValue(line, valueStart, YamlScanner.trimEnd(line, valueStart, i), depth, true);
+				}
+				valueStart = i + 1;
+			}
+		}
+		addEvent(YamlEvent.END_SEQUENCE, depth, true);
+	}
+
+	private void addValue(final @NotNull String line, final int start, final int end, final int depth, final boolean inlineValue) throws YamlIsMultiLineException, YamlInvalidContentException
+	{
+		if(end - start > 1) // No need to waste cpu time if the data string is only one char long :D
+		{
+			char char1 = line.charAt(start);
+			if(char1 == '"' || char1 == '\'')
+			{
+				int close = YamlScanner.findClosingQuote(line, start, end);
+				if(close < 0 || (close + 1 < end && !YamlScanner.isInlineComment(line, close + 1, end))) throw mlException;
+				addScalar(line, start + 1, close, char1, close + 1, end, depth, inlineValue);
+				return;
+			}
+			int commentStart = YamlScanner.findInlineComment(line, start, end);
+			if(YamlScanner.containsLineTerminator(line, start, commentStart)) throw new YamlInvalidContentException("Invalid value: " + line.substring(start, end));
+			addScalar(line, start, commentStart, '\0', commentStart, end, depth, inlineValue);
+		}
+		else addScalar(line, start, end, '\0', end, end, depth, inlineValue);
+	}
+
+	private void addScalar(final @NotNull String line, final int start, final int end, final char quoteChar, final int commentStart, final int commentEnd, final int depth, final boolean inlineValue)
+	{
+		addEvent(YamlEvent.SCALAR, depth, line, start, end, quoteChar, commentStart, commentEnd, inlineValue);
+		valueCounts[depth]++;
+		if(valueCounts[depth] > 1) lists[depth] = true;
+	}
+
+	private int spacesTillFirstChar(final @NotNull String str, final int lineStart, final int lineEnd)
+	{
+		int firstCharacter = 0;
+		for(int i = lineStart; i < lineEnd; i++)
+		{
+			char character = str.charAt(i);
+			if (character == ' ')  firstCharacter++;
+			else if(character == '\t')
+			{
+				firstCharacter += tabIndentationSize;
+				tabIndented = true;
+			}
+			else
+			{
+				if(!tabIndentationSizeSet && firstCharacter != 0)
+				{
+					tabIndentationSizeSet = true;
+					tabIndentationSize = firstCharacter;
+				}
+				break;
+			}
+		}
+		return firstCharacter;
+	}
+	//endregion
+
+	void setTabSize(final int tabSize)
+	{
+		tabIndentationSize = tabSize;
+		tabIndentationSizeSet = true;
+	}
+
+	/**
+	 * @return The number of the first line of the (multi) line the last events have been read from
+	 */
+	int getLineStartNumber()
+	{
+		return lineStartNr;
+	}
+
+	/**
+	 * @return True if the tab size has been set or detected from an indented line, false if the default is used
+	 */
+	boolean isTabSizeSet()
+	{
+		return tabIndentationSizeSet;
+	}
+
+	/**
+	 * @return True if a tab has been used to indent a line
+	 */
+	boolean isTabIndented()
+	{
+		return tabIndented;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		lines.close();
+		queueSize = 0;
+	}
+
+	private static class YamlIsMultiLineException extends Exception {}
+}
@@ -0,0 +1,421 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Read-only yaml document that stores the whole tree in a few primitive arrays instead of {@link YamlNode} and {@link YamlValue} objects.
+ * Every node and value is an entry identified by its index. The names and values of all entries are stored in one shared char table.
+ * The keys are looked up through an open addressing hash table, no key strings are kept in memory.
+ * The document uses a small fraction of the memory of a {@link YAML} object and is meant for very large documents that only have to be read.
+ * Comments are dropped.
+ *
+ * <pre>{@code
+ * YamlFlatDocument document = new YamlFlatDocument(Paths.get("huge.yml"));
+ * int port = document.getInt("server.port", 80);
+ * }</pre>
+ */
+public final class YamlFlatDocument implements YamlGetter
+{
+	private static final int INITIAL_CAPACITY = 64, ROOT = 0;
+	private static final byte FLAG_VALUE = 1, FLAG_LIST = 2, FLAG_ARRAY = 4;
+
+	//region tree storage, indexed by entry
+	private int[] parent, firstChild, nextSibling, textOffset, textLength, valueCount;
+	private byte[] flags;
+	private int entryCount = 0;
+	private char[] text = new char[1024];
+	private int textSize = 0;
+	//endregion
+
+	// Open addressing hash tables holding entry + 1 for all the keys and for the keys holding values
+	private int[] keyHashes, nodeIndex, valueIndex;
+
+	/**
+	 * Loads a yaml document from a string.
+	 *
+	 * @param dataString The yaml document
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 */
+	public YamlFlatDocument(final @NotNull String dataString) throws YamlInvalidContentException
+	{
+		try(YamlEventReader events = new YamlEventReader(dataString))
+		{
+			load(events);
+		}
+		catch(IOException e)
+		{ // Can't happen when reading from a string
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Loads a yaml document from a stream.
+	 *
+	 * @param stream The stream to read the document from
+	 * @throws IOException If reading from the stream fails
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 */
+	public YamlFlatDocument(final @NotNull InputStream stream) throws IOException, YamlInvalidContentException
+	{
+		try(YamlEventReader events = new YamlEventReader(stream))
+		{
+			load(events);
+		}
+	}
+
+	/**
+	 * Loads a yaml document from a memory mapped file.
+	 *
+	 * @param path The file to read the document from
+	 * @throws IOException If any file handling failed
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 */
+	public YamlFlatDocument(final @NotNull Path path) throws IOException, YamlInvalidContentException
+	{
+		try(YamlEventReader events = new YamlEventReader(path))
+		{
+			load(events);
+		}
+	}
+
+	//region loading
+	private void load(final @NotNull YamlEventReader events) throws YamlInvalidContentException, IOException
+	{
+		parent = new int[INITIAL_CAPACITY];
+		firstChild = new int[INITIAL_CAPACITY];
+		nextSibling = new int[INITIAL_CAPACITY];
+		textOffset = new int[INITIAL_CAPACITY];
+		textLength = new int[INITIAL_CAPACITY];
+		valueCount = new int[INITIAL_CAPACITY];
+		flags = new byte[INITIAL_CAPACITY];
+		// Only needed while building the tree
+		int[] lastChild = new int[INITIAL_CAPACITY], childCount = new int[INITIAL_CAPACITY], nodes = new int[16];
+		addEntry(ROOT, (byte) 0);
+		nodes[0] = ROOT;
+		while(events.hasNext())
+		{
+			switch(events.next())
+			{
+				case START_MAPPING_KEY:
+					int depth = events.getDepth(), parentNode = nodes[depth - 1];
+					if(valueCount[parentNode] > 1 || (flags[parentNode] & (FLAG_LIST | FLAG_ARRAY)) != 0) throw new YamlInvalidContentException("It is not possible to add a sub key to a value list!");
+					int node = addEntry(parentNode, (byte) 0);
+					//noinspection ConstantConditions
+					appendText(node, events.getName());
+					if(node == lastChild.length)
+					{
+						lastChild = Arrays.copyOf(lastChild, parent.length);
+						childCount = Arrays.copyOf(childCount, parent.length);
+					}
+					if(childCount[parentNode]++ == 0) firstChild[parentNode] = node; else nextSibling[lastChild[parentNode]] = node;
+					lastChild[parentNode] = node;
+					if(depth == nodes.length) nodes = Arrays.copyOf(nodes, depth * 2);
+					nodes[depth] = node;
+					break;
+				case START_SEQUENCE:
+					flags[nodes[events.getDepth()]] |= events.isInline() ? FLAG_ARRAY : FLAG_LIST;
+					break;
+				case SCALAR:
+					parentNode = nodes[events.getDepth()];
+					int size = childCount[parentNode];
+					if(valueCount[parentNode] != size && (valueCount[parentNode] != 0 || size == 0)) throw new YamlInvalidContentException("It is not possible to add a sub key to a value list!");
+					int value = addEntry(parentNode, FLAG_VALUE);
+					Character quoteChar = events.getQuoteChar();
+					//noinspection ConstantConditions
+					if(quoteChar == null) appendText(value, events.getSource(), events.getStart(), events.getEnd());
+					else appendText(value, events.getValue());
+					if(value == lastChild.length)
+					{
+						lastChild = Arrays.copyOf(lastChild, parent.length);
+						childCount = Arrays.copyOf(childCount, parent.length);
+					}
+					if(size == 0) firstChild[parentNode] = lastChild[parentNode] = value;
+					else if(valueCount[parentNode] == 0)
+					{ // Values are always stored in front of the sub nodes
+						nextSibling[value] = firstChild[parentNode];
+						firstChild[parentNode] = value;
+					}
+					else
+					{
+						nextSibling[lastChild[parentNode]] = value;
+						lastChild[parentNode] = value;
+					}
+					childCount[parentNode]++;
+					if(++valueCount[parentNode] > 1) flags[parentNode] |= FLAG_LIST;
+					break;
+			}
+		}
+		trim();
+		buildIndex();
+	}
+
+	private int addEntry(final int parentEntry, final byte entryFlags)
+	{
+		if(entryCount == parent.length)
+		{
+			int capacity = entryCount + (entryCount >> 1);
+			parent = Arrays.copyOf(parent, capacity);
+			firstChild = Arrays.copyOf(firstChild, capacity);
+			nextSibling = Arrays.copyOf(nextSibling, capacity);
+			textOffset = Arrays.copyOf(textOffset, capacity);
+			textLength = Arrays.copyOf(textLength, capacity);
+			valueCount = Arrays.copyOf(valueCount, capacity);
+			flags = Arrays.copyOf(flags, capacity);
+		}
+		int entry = entryCount++;
+		parent[entry] = parentEntry;
+		firstChild[entry] = nextSibling[entry] = -1;
+		textOffset[entry] = textSize;
+		flags[entry] = entryFlags;
+		return entry;
+	}
+
+	private void appendText(final int entry, final @NotNull String source)
+	{
+		appendText(entry, source, 0, source.length());
+	}
+
+	private void appendText(final int entry, final @NotNull String source, final int start, final int end)
+	{
+		int length = end - start;
+		if(textSize + length > text.length)
+		{
+			long capacity = Math.max((long) textSize + length, textSize + ((long) textSize >> 1));
+			if(capacity > Integer.MAX_VALUE - 8)
+			{
+				if((long) textSize + length > Integer.MAX_VALUE - 8) throw new OutOfMemoryError("The text of the document is too big to be stored in a char array");
+				capacity = Integer.MAX_VALUE - 8;
+			}
+			text = Arrays.copyOf(text, (int) capacity);
+		}
+		source.getChars(start, end, text, textSize);
+		textSize += length;
+		textLength[entry] = length;
+	}
+
+	private void trim()
+	{
+		parent = Arrays.copyOf(parent, entryCount);
+		firstChild = Arrays.copyOf(firstChild, entryCount);
+		nextSibling = Arrays.copyOf(nextSibling, entryCount);
+		textOffset = Arrays.copyOf(textOffset, entryCount);
+		textLength = Arrays.copyOf(textLength, entryCount);
+		valueCount = Arrays.copyOf(valueCount, entryCount);
+		flags = Arrays.copyOf(flags, entryCount);
+		text = Arrays.copyOf(text, textSize);
+	}
+
+	/**
+	 * Indexes the keys of all nodes like {@link YAML} does. The entries are stored in document order, so later nodes replace earlier ones with the same key.
+	 */
+	private void buildIndex()
+	{
+		int nodeCount = 0;
+		for(int entry = 0; entry < entryCount; entry++)
+		{
+			if((flags[entry] & FLAG_VALUE) == 0) nodeCount++;
+		}
+		int capacity = Integer.highestOneBit(Math.max(nodeCount, 8) * 2 - 1) << 1;
+		keyHashes = new int[entryCount];
+		nodeIndex = new int[capacity];
+		valueIndex = new int[capacity];
+		boolean[] indexed = new boolean[entryCount]; // The sub nodes of lists are not accessible through keys
+		for(int entry = 0; entry < entryCount; entry++)
+		{
+			if((flags[entry] & FLAG_VALUE) != 0) continue;
+			int hash = 0;
+			if(entry != ROOT)
+			{
+				int parentEntry = parent[entry];
+				if(!indexed[parentEntry] || (flags[parentEntry] & FLAG_LIST) != 0) continue;
+				if(parentEntry != ROOT) hash = keyHashes[parentEntry] * 31 + '.';
+				for(int i = textOffset[entry], end = i + textLength[entry]; i < end; i++)
+				{
+					hash = 31 * hash + text[i];
+				}
+			}
+			keyHashes[entry] = hash;
+			indexed[entry] = true;
+			put(nodeIndex, entry);
+			if(valueCount[entry] > 0 || (flags[entry] & FLAG_ARRAY) != 0) put(valueIndex, entry);
+		}
+	}
+
+	private void put(final int[] index, final int entry)
+	{
+		int mask = index.length - 1;
+		for(int slot = spread(keyHashes[entry]) & mask; ; slot = (slot + 1) & mask)
+		{
+			int existing = index[slot] - 1;
+			if(existing < 0 || (keyHashes[existing] == keyHashes[entry] && sameKey(existing, entry)))
+			{
+				index[slot] = entry + 1;
+				return;
+			}
+		}
+	}
+
+	private boolean sameKey(final int entry1, final int entry2)
+	{ // Only called for entries with the same hash, building the keys is fine
+		StringBuilder key1 = new StringBuilder(), key2 = new StringBuilder();
+		appendKey(entry1, key1);
+		appendKey(entry2, key2);
+		return key1.toString().equals(key2.toString());
+	}
+	//endregion
+
+	//region lookup
+	static int spread(final int hash)
+	{ // The hashes of similar keys are close to each other, they need to be scattered for linear probing
+		int h = hash * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private int find(final int[] index, final @NotNull String key)
+	{
+		int hash = key.hashCode(), mask = index.length - 1;
+		for(int slot = spread(hash) & mask; ; slot = (slot + 1) & mask)
+		{
+			int entry = index[slot] - 1;
+			if(entry < 0) return -1;
+			if(keyHashes[entry] == hash && matches(entry, key)) return entry;
+		}
+	}
+
+	/**
+	 * Checks if the key of an entry is the given key, by comparing the names of the entry and its parents with the end of the key.
+	 */
+	private boolean matches(int entry, final @NotNull String key)
+	{
+		if(entry == ROOT) return key.isEmpty();
+		int end = key.length();
+		while(true)
+		{
+			int length = textLength[entry], start = end - length;
+			if(start < 0) return false;
+			for(int i = 0; i < length; i++)
+			{
+				if(key.charAt(start + i) != text[textOffset[entry] + i]) return false;
+			}
+			entry = parent[entry];
+			if(entry == ROOT) return start == 0;
+			if(start == 0 || key.charAt(start - 1) != '.') return false;
+			end = start - 1;
+		}
+	}
+
+	private @NotNull String getText(final int entry)
+	{
+		return new String(text, textOffset[entry], textLength[entry]);
+	}
+
+	private int getValueEntry(final @NotNull String key)
+	{
+		int node = find(valueIndex, key);
+		return (node >= 0 && valueCount[node] == 1) ? firstChild[node] : -1;
+	}
+
+	/**
+	 * Checks if the given key exists in the document
+	 * @param key The key that should be checked
+	 * @return If the key exists in the document or not
+	 */
+	@Override
+	public boolean isSet(final @NotNull String key)
+	{
+		return find(valueIndex, key) >= 0;
+	}
+
+	/**
+	 * Gets a yaml value element from the document. The element is created on every call and is not connected to the document.
+	 *
+	 * @param key The key of the value you want to get
+	 * @return The value of the key you searched for
+	 */
+	@Override
+	public @Nullable YamlValue getValue(final @NotNull String key)
+	{
+		int value = getValueEntry(key);
+		return (value >= 0) ? new YamlValue(getText(value)) : null;
+	}
+
+	@Override
+	public @NotNull String getString(final @NotNull String key) throws YamlKeyNotFoundException
+	{
+		int value = getValueEntry(key);
+		if(value >= 0) return getText(value);
+		throw new YamlKeyNotFoundException("The key you wanted to retrieve (\"" + key + "\") could not be found in the YAML object");
+	}
+
+	@Contract("_, !null -> !null")
+	@Override
+	public @Nullable String getString(final @NotNull String key, final @Nullable String defaultValue)
+	{
+		int value = getValueEntry(key);
+		return (value >= 0) ? getText(value) : defaultValue;
+	}
+
+	/**
+	 * Gets a list of strings from the document
+	 * @param key The key of the list you want to get
+	 * @param defaultValue The default value that should be returned if the key could not be found
+	 * @return The list of values you searched for
+	 */
+	@Contract("_, !null -> !null")
+	@Override
+	public @Nullable List<String> getStringList(final @NotNull String key, final @Nullable List<String> defaultValue)
+	{
+		int node = find(valueIndex, key);
+		if(node < 0) return defaultValue;
+		List<String> values = new ArrayList<>(valueCount[node]);
+		for(int child = firstChild[node]; child >= 0; child = nextSibling[child])
+		{
+			if((flags[child] & FLAG_VALUE) == 0) return defaultValue; // Not a list of values
+			values.add(getText(child));
+		}
+		return values;
+	}
+
+	public boolean isList(final @NotNull String key)
+	{
+		int node = find(nodeIndex, key);
+		return node >= 0 && (flags[node] & FLAG_LIST) != 0;
+	}
+
+	/**
+	 * Function to get the keys of the document holding values
+	 * @return The keys of the document in a Set object
+	 */
+	public @NotNull Set<String> getKeys()
+	{
+		Set<String> keys = new HashSet<>();
+		StringBuilder keyBuilder = new StringBuilder();
+		for(int slot : valueIndex)
+		{
+			if(slot == 0) continue;
+			keyBuilder.setLength(0);
+			appendKey(slot - 1, keyBuilder);
+			keys.add(keyBuilder.toString());
+		}
+		return keys;
+	}
+
+	private void appendKey(final int entry, final @NotNull StringBuilder keyBuilder)
+	{
+		if(entry == ROOT) return;
+		if(parent[entry] != ROOT)
+		{
+			appendKey(parent[entry], keyBuilder);
+			keyBuilder.append('.');
+		}
+		keyBuilder.append(text, textOffset[entry], textLength[entry]);
+	}
+	//endregion
+}
@@ -6,6 +6,9 @@
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 // Mainly abused for mixins to keep the main class more readable
 public interface YamlGetter
@@ -25,6 +28,23 @@
 	 */
 	@Nullable YamlValue getValue(@NotNull String key);
 
+	/**
+	 * Gets a yaml value element from the YAML object
+	 *
+	 * @param key The key of the value you want to get
+	 * @return The value of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 */
+	default @NotNull YamlValue getValueE(@NotNull String key) throws YamlKeyNotFoundException
+	{
+		YamlValue value = getValue(key);
+		if (value != null)
+		{
+			return value;
+		}
+		throw new YamlKeyNotFoundException("The key you wanted to retrieve (\"" + key + "\") could not be found in the YAML object");
+	}
+
 	/**
 	 * Gets a byte value from the YAML object
 	 * @param key The key of the value you want to get
@@ -34,7 +54,7 @@
 	 */
 	default byte getByte(@NotNull String key) throws YamlKeyNotFoundException, NumberFormatException
 	{
-		return Byte.parseByte(getString(key));
+		return getValueE(key).getValueAsByte();
 	}
 
 	/**
@@ -46,7 +66,8 @@ default byte getByte(@NotNull String key) throws YamlKeyNotFoundException, Numbe
 	 */
 	default byte getByte(@NotNull String key, byte defaultValue) throws NumberFormatException
 	{
-		return Byte.parseByte(getString(key, "" + defaultValue));
+		YamlValue value = getValue(key);
+		return (value != null) ? value.getValueAsByte() : defaultValue;
 	}
 
 	/**
@@ -99,7 +120,7 @@ default byte getByte(@NotNull String key, byte defaultValue) throws NumberFormat
 	 */
 	default short getShort(@NotNull String key) throws YamlKeyNotFoundException, NumberFormatException
 	{
-		return Short.parseShort(getString(key));
+		return getValueE(key).getValueAsShort();
 	}
 
 	/**
@@ -111,7 +132,8 @@ default short getShort(@NotNull String key) throws YamlKeyNotFoundException, Num
 	 */
 	default short getShort(@NotNull String key, short defaultValue) throws NumberFormatException
 	{
-		return Short.parseShort(getString(key, "" + defaultValue));
+		YamlValue value = getValue(key);
+		return (value != null) ? value.getValueAsShort() : defaultValue;
 	}
 
 	/**
@@ -164,7 +186,7 @@ default short getShort(@NotNull String key, short defaultValue) throws NumberFor
 	 */
 	default int getInt(@NotNull String key) throws YamlKeyNotFoundException, NumberFormatException
 	{
-		return Integer.parseInt(getString(key));
+		return getValueE(key).getValueAsInt();
 	}
 
 	/**
@@ -176,7 +198,8 @@ default int getInt(@NotNull String key) throws YamlKeyNotFoundException, NumberF
 	 */
 	default int getInt(@NotNull String key, int defaultValue) throws NumberFormatException
 	{
-		return Integer.parseInt(getString(key, "" + defaultValue));
+		YamlValue value = getValue(key);
+		return (value != null) ? value.getValueAsInt() : defaultValue;
 	}
 
 	/**
@@ -220,6 +243,47 @@ default int getInt(@NotNull String key, int defaultValue) throws NumberFormatExc
 		return values;
 	}
 
+	/**
+	 * Gets a list of int values from the YAML object, without boxing the values
+	 * @param key The key of the list you want to get
+	 * @return The int array of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 * @throws NumberFormatException If the value of the searched key can not be converted to an int array
+	 */
+	default @NotNull int[] getIntArray(@NotNull String key) throws YamlKeyNotFoundException, NumberFormatException
+	{
+		return YamlArrays.toIntArray(getValueListE(key));
+	}
+
+	/**
+	 * Gets a list of int values from the YAML object, without boxing the values
+	 * @param key The key of the list you want to get
+	 * @param defaultValue The default value that should be returned if the key could not be found
+	 * @return The int array of the key you searched for
+	 * @throws NumberFormatException If the value of the searched key can not be converted to an int array
+	 */
+	@Contract("_, !null -> !null")
+	default @Nullable int[] getIntArray(@NotNull String key, @Nullable int[] defaultValue) throws NumberFormatException
+	{
+		List<YamlValue> values = getValueList(key);
+		if (values == null)
+		{
+			return defaultValue;
+		}
+		return YamlArrays.toIntArray(values);
+	}
+
+	/**
+	 * Gets a list of int values from the YAML object as stream, the values are converted while the stream is consumed
+	 * @param key The key of the list you want to get
+	 * @return A stream of the int values of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 */
+	default @NotNull IntStream getIntStream(@NotNull String key) throws YamlKeyNotFoundException
+	{
+		return getValueListE(key).stream().mapToInt(YamlValue::getValueAsInt);
+	}
+
 	/**
 	 * Gets a long value from the YAML object
 	 * @param key The key of the value you want to get
@@ -229,7 +293,7 @@ default int getInt(@NotNull String key, int defaultValue) throws NumberFormatExc
 	 */
 	default long getLong(@NotNull String key) throws YamlKeyNotFoundException, NumberFormatException
 	{
-		return Long.parseLong(getString(key));
+		return getValueE(key).getValueAsLong();
 	}
 
 	/**
@@ -241,7 +305,8 @@ default long getLong(@NotNull String key) throws YamlKeyNotFoundException, Numbe
 	 */
 	default long getLong(@NotNull String key, long defaultValue) throws NumberFormatException
 	{
-		return Long.parseLong(getString(key, "" + defaultValue));
+		YamlValue value = getValue(key);
+		return (value != null) ? value.getValueAsLong() : defaultValue;
 	}
 
 	/**
@@ -285,6 +350,47 @@ default long getLong(@NotNull String key, long defaultValue) throws NumberFormat
 		return values;
 	}
 
+	/**
+	 * Gets a list of long values from the YAML object, without boxing the values
+	 * @param key The key of the list you want to get
+	 * @return The long array of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 * @throws NumberFormatException If the value of the searched key can not be converted to a long array
+	 */
+	default @NotNull long[] getLongArray(@NotNull String key) throws YamlKeyNotFoundException, NumberFormatException
+	{
+		return YamlArrays.toLongArray(getValueListE(key));
+	}
+
+	/**
+	 * Gets a list of long values from the YAML object, without boxing the values
+	 * @param key The key of the list you want to get
+	 * @param defaultValue The default value that should be returned if the key could not be found
+	 * @return The long array of the key you searched for
+	 * @throws NumberFormatException If the value of the searched key can not be converted to a long array
+	 */
+	@Contract("_, !null -> !null")
+	default @Nullable long[] getLongArray(@NotNull String key, @Nullable long[] defaultValue) throws NumberFormatException
+	{
+		List<YamlValue> values = getValueList(key);
+		if (values == null)
+		{
+			return defaultValue;
+		}
+		return YamlArrays.toLongArray(values);
+	}
+
+	/**
+	 * Gets a list of long values from the YAML object as stream, the values are converted while the stream is consumed
+	 * @param key The key of the list you want to get
+	 * @return A stream of the long values of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 */
+	default @NotNull LongStream getLongStream(@NotNull String key) throws YamlKeyNotFoundException
+	{
+		return getValueListE(key).stream().mapToLong(YamlValue::getValueAsLong);
+	}
+
 	/**
 	 * Gets a float value from the YAML object
 	 * @param key The key of the value you want to get
@@ -294,7 +400,7 @@ default long getLong(@NotNull String key, long defaultValue) throws NumberFormat
 	 */
 	default float getFloat(@NotNull String key) throws YamlKeyNotFoundException, NumberFormatException
 	{
-		return Float.parseFloat(getString(key));
+		return getValueE(key).getValueAsFloat();
 	}
 
 	/**
@@ -306,7 +412,8 @@ default float getFloat(@NotNull String key) throws YamlKeyNotFoundException, Num
 	 */
 	default float getFloat(@NotNull String key, float defaultValue) throws NumberFormatException
 	{
-		return Float.parseFloat(getString(key, "" + defaultValue));
+		YamlValue value = getValue(key);
+		return (value != null) ? value.getValueAsFloat() : defaultValue;
 	}
 
 	/**
@@ -359,7 +466,7 @@ default float getFloat(@NotNull String key, float defaultValue) throws NumberFor
 	 */
 	default double getDouble(@NotNull String key) throws YamlKeyNotFoundException, NumberFormatException
 	{
-		return Double.parseDouble(getString(key));
+		return getValueE(key).getValueAsDouble();
 	}
 
 	/**
@@ -371,7 +478,8 @@ default double getDouble(@NotNull String key) throws YamlKeyNotFoundException, N
 	 */
 	default double getDouble(@NotNull String key, double defaultValue) throws NumberFormatException
 	{
-		return Double.parseDouble(getString(key, "" + defaultValue));
+		YamlValue value = getValue(key);
+		return (value != null) ? value.getValueAsDouble() : defaultValue;
 	}
 
 	/**
@@ -415,6 +523,47 @@ default double getDouble(@NotNull String key, double defaultValue) throws Number
 		return values;
 	}
 
+	/**
+	 * Gets a list of double values from the YAML object, without boxing the values
+	 * @param key The key of the list you want to get
+	 * @return The double array of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 * @throws NumberFormatException If the value of the searched key can not be converted to a double array
+	 */
+	default @NotNull double[] getDoubleArray(@NotNull String key) throws YamlKeyNotFoundException, NumberFormatException
+	{
+		return YamlArrays.toDoubleArray(getValueListE(key));
+	}
+
+	/**
+	 * Gets a list of double values from the YAML object, without boxing the values
+	 * @param key The key of the list you want to get
+	 * @param defaultValue The default value that should be returned if the key could not be found
+	 * @return The double array of the key you searched for
+	 * @throws NumberFormatException If the value of the searched key can not be converted to a double array
+	 */
+	@Contract("_, !null -> !null")
+	default @Nullable double[] getDoubleArray(@NotNull String key, @Nullable double[] defaultValue) throws NumberFormatException
+	{
+		List<YamlValue> values = getValueList(key);
+		if (values == null)
+		{
+			return defaultValue;
+		}
+		return YamlArrays.toDoubleArray(values);
+	}
+
+	/**
+	 * Gets a list of double values from the YAML object as stream, the values are converted while the stream is consumed
+	 * @param key The key of the list you want to get
+	 * @return A stream of the double values of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 */
+	default @NotNull DoubleStream getDoubleStream(@NotNull String key) throws YamlKeyNotFoundException
+	{
+		return getValueListE(key).stream().mapToDouble(YamlValue::getValueAsDouble);
+	}
+
 	/**
 	 * Gets a boolean value from the YAML object
 	 * @param key The key of the value you want to get
@@ -423,7 +572,7 @@ default double getDouble(@NotNull String key, double defaultValue) throws Number
 	 */
 	default boolean getBoolean(@NotNull String key) throws YamlKeyNotFoundException
 	{
-		return Boolean.parseBoolean(getString(key));
+		return getValueE(key).getValueAsBoolean();
 	}
 
 	/**
@@ -434,7 +583,8 @@ default boolean getBoolean(@NotNull String key) throws YamlKeyNotFoundException
 	 */
 	default boolean getBoolean(@NotNull String key, boolean defaultValue)
 	{
-		return Boolean.parseBoolean(getString(key, "" + defaultValue));
+		YamlValue value = getValue(key);
+		return (value != null) ? value.getValueAsBoolean() : defaultValue;
 	}
 
 	/**
@@ -476,6 +626,34 @@ default boolean getBoolean(@NotNull String key, boolean defaultValue)
 		return values;
 	}
 
+	/**
+	 * Gets a list of boolean values from the YAML object, without boxing the values
+	 * @param key The key of the list you want to get
+	 * @return The boolean array of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 */
+	default @NotNull boolean[] getBooleanArray(@NotNull String key) throws YamlKeyNotFoundException
+	{
+		return YamlArrays.toBooleanArray(getValueListE(key));
+	}
+
+	/**
+	 * Gets a list of boolean values from the YAML object, without boxing the values
+	 * @param key The key of the list you want to get
+	 * @param defaultValue The default value that should be returned if the key could not be found
+	 * @return The boolean array of the key you searched for
+	 */
+	@Contract("_, !null -> !null")
+	default @Nullable boolean[] getBooleanArray(@NotNull String key, @Nullable boolean[] defaultValue)
+	{
+		List<YamlValue> values = getValueList(key);
+		if (values == null)
+		{
+			return defaultValue;
+		}
+		return YamlArrays.toBooleanArray(values);
+	}
+
 	/**
 	 * Gets a char value from the YAML object
 	 * @param key The key of the value you want to get
@@ -502,7 +680,11 @@ default char getChar(@NotNull String key) throws YamlKeyNotFoundException, YamlI
 	 */
 	default char getChar(@NotNull String key, char defaultValue) throws YamlInvalidContentException
 	{
-		String value = getString(key, "" + defaultValue);
+		String value = getString(key, null);
+		if (value == null)
+		{
+			return defaultValue;
+		}
 		if (value.length() == 1)
 		{
 			return value.charAt(0);
@@ -566,12 +748,7 @@ default char getChar(@NotNull String key, char defaultValue) throws YamlInvalidC
 	 */
 	default @NotNull String getString(@NotNull String key) throws YamlKeyNotFoundException
 	{
-		YamlValue value = getValue(key);
-		if (value != null)
-		{
-			return value.getValue();
-		}
-		throw new YamlKeyNotFoundException("The key you wanted to retrieve (\"" + key + "\") could not be found in the YAML object");
+		return getValueE(key).getValue();
 	}
 
 	/**
@@ -591,6 +768,39 @@ default char getChar(@NotNull String key, char defaultValue) throws YamlInvalidC
 		return defaultValue;
 	}
 
+	/**
+	 * Gets the value elements of a list from the YAML object, the primitive array and stream getters convert them without creating strings
+	 * @param key The key of the list you want to get
+	 * @return The value elements of the list, null if the key could not be found or does not contain a list of values
+	 */
+	default @Nullable List<YamlValue> getValueList(@NotNull String key)
+	{ // Implementations without value elements only have the strings
+		List<String> stringValues = getStringList(key, null);
+		if (stringValues == null)
+		{
+			return null;
+		}
+		List<YamlValue> values = new ArrayList<>(stringValues.size());
+		for (String value : stringValues)
+		{
+			values.add(new YamlValue(value));
+		}
+		return values;
+	}
+
+	/**
+	 * Gets the value elements of a list from the YAML object
+	 * @param key The key of the list you want to get
+	 * @return The value elements of the list
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 */
+	default @NotNull List<YamlValue> getValueListE(@NotNull String key) throws YamlKeyNotFoundException
+	{
+		List<YamlValue> values = getValueList(key);
+		if(values != null) return values;
+		throw new YamlKeyNotFoundException("The key you wanted to retrieve (\"" + key + "\") could not be found in the YAML object");
+	}
+
 	/**
 	 * Gets a list of strings from the YAML object
 	 * @param key The key of the list you want to get
@@ -612,4 +822,249 @@ default char getChar(@NotNull String key, char defaultValue) throws YamlInvalidC
 	 */
 	@Contract("_, !null -> !null")
 	@Nullable List<String> getStringList(@NotNull String key, @Nullable List<String> defaultValue);
-}
\ No newline at end of file
+
+	/**
+	 * Gets a value from the YAML object converted to the given type, see {@link YamlConverters} for the supported types
+	 * @param key The key of the value you want to get
+	 * @param type The type the value should be converted to
+	 * @param <T> The type the value should be converted to
+	 * @return The value of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 * @throws IllegalArgumentException If the value of the searched key can not be converted to the type
+	 */
+	default <T> @NotNull T get(@NotNull String key, @NotNull Class<T> type) throws YamlKeyNotFoundException, IllegalArgumentException
+	{
+		return getValueE(key).getValueAs(type);
+	}
+
+	/**
+	 * Gets a value from the YAML object converted to the given type, see {@link YamlConverters} for the supported types
+	 * @param key The key of the value you want to get
+	 * @param type The type the value should be converted to
+	 * @param defaultValue The default value that should be returned if the key could not be found
+	 * @param <T> The type the value should be converted to
+	 * @return The value of the key you searched for
+	 * @throws IllegalArgumentException If the value of the searched key can not be converted to the type
+	 */
+	@Contract("_, _, !null -> !null")
+	default <T> @Nullable T get(@NotNull String key, @NotNull Class<T> type, @Nullable T defaultValue) throws IllegalArgumentException
+	{
+		YamlValue value = getValue(key);
+		return (value != null) ? value.getValueAs(type) : defaultValue;
+	}
+
+	//region YamlPath getters
+	/**
+	 * Checks if the key of the given handle exists in the YAML object
+	 * @param path The handle of the key that should be checked
+	 * @return If the key exists in the object or not
+	 */
+	default boolean isSet(@NotNull YamlPath path)
+	{
+		return isSet(path.getKey());
+	}
+
+	/**
+	 * Gets a yaml value element from the YAML object
+	 * @param path The handle of the key of the value you want to get
+	 * @return The value of the key you searched for
+	 */
+	default @Nullable YamlValue getValue(@NotNull YamlPath path)
+	{
+		return getValue(path.getKey());
+	}
+
+	/**
+	 * Gets a yaml value element from the YAML object
+	 * @param path The handle of the key of the value you want to get
+	 * @return The value of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 */
+	default @NotNull YamlValue getValueE(@NotNull YamlPath path) throws YamlKeyNotFoundException
+	{
+		YamlValue value = getValue(path);
+		if (value != null)
+		{
+			return value;
+		}
+		throw new YamlKeyNotFoundException("The key you wanted to retrieve (\"" + path.getKey() + "\") could not be found in the YAML object");
+	}
+
+	/**
+	 * Gets a string value from the YAML object
+	 * @param path The handle of the key of the value you want to get
+	 * @return The value of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 */
+	default @NotNull String getString(@NotNull YamlPath path) throws YamlKeyNotFoundException
+	{
+		return getValueE(path).getValue();
+	}
+
+	/**
+	 * Gets a string value from the YAML object
+	 * @param path The handle of the key of the value you want to get
+	 * @param defaultValue The default value that should be returned if the key could not be found
+	 * @return The value of the key you searched for
+	 */
+	@Contract("_, !null -> !null")
+	default @Nullable String getString(@NotNull YamlPath path, @Nullable String defaultValue)
+	{
+		YamlValue value = getValue(path);
+		if (value != null)
+		{
+			return value.getValue();
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * Gets a list of strings from the YAML object
+	 * @param path The handle of the key of the list you want to get
+	 * @param defaultValue The default value that should be returned if the key could not be found
+	 * @return The list of values you searched for
+	 */
+	@Contract("_, !null -> !null")
+	default @Nullable List<String> getStringList(@NotNull YamlPath path, @Nullable List<String> defaultValue)
+	{
+		return getStringList(path.getKey(), defaultValue);
+	}
+
+	/**
+	 * Gets an int value from the YAML object
+	 * @param path The handle of the key of the value you want to get
+	 * @return The value of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 * @throws NumberFormatException If the value of the searched key can not be converted to an int
+	 */
+	default int getInt(@NotNull YamlPath path) throws YamlKeyNotFoundException, NumberFormatException
+	{
+		return getValueE(path).getValueAsInt();
+	}
+
+	/**
+	 * Gets an int value from the YAML object
+	 * @param path The handle of the key of the value you want to get
+	 * @param defaultValue The default value that should be returned if the key could not be found
+	 * @return The value of the key you searched for
+	 * @throws NumberFormatException If the value of the searched key can not be converted to an int
+	 */
+	default int getInt(@NotNull YamlPath path, int defaultValue) throws NumberFormatException
+	{
+		YamlValue value = getValue(path);
+		return (value != null) ? value.getValueAsInt() : defaultValue;
+	}
+
+	/**
+	 * Gets a long value from the YAML object
+	 * @param path The handle of the key of the value you want to get
+	 * @return The value of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 * @throws NumberFormatException If the value of the searched key can not be converted to a long
+	 */
+	default long getLong(@NotNull YamlPath path) throws YamlKeyNotFoundException, NumberFormatException
+	{
+		return getValueE(path).getValueAsLong();
+	}
+
+	/**
+	 * Gets a long value from the YAML object
+	 * @param path The handle of the key of the value you want to get
+	 * @param defaultValue The default value that should be returned if the key could not be found
+	 * @return The value of the key you searched for
+	 * @throws NumberFormatException If the value of the searched key can not be converted to a long
+	 */
+	default long getLong(@NotNull YamlPath path, long defaultValue) throws NumberFormatException
+	{
+		YamlValue value = getValue(path);
+		return (value != null) ? value.getValueAsLong() : defaultValue;
+	}
+
+	/**
+	 * Gets a float value from the YAML object
+	 * @param path The handle of the key of the value you want to get
+	 * @return The value of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 * @throws NumberFormatException If the value of the searched key can not be converted to a float
+	 */
+	default float getFloat(@NotNull YamlPath path) throws YamlKeyNotFoundException, NumberFormatException
+	{
+		return getValueE(path).getValueAsFloat();
+	}
+
+	/**
+	 * Gets a float value from the YAML object
+	 * @param path The handle of the key of the value you want to get
+	 * @param defaultValue The default value that should be returned if the key could not be found
+	 * @return The value of the key you searched for
+	 * @throws NumberFormatException If the value of the searched key can not be converted to a float
+	 */
+	default float getFloat(@NotNull YamlPath path, float defaultValue) throws NumberFormatException
+	{
+		YamlValue value = getValue(path);
+		return (value != null) ? value.getValueAsFloat() : defaultValue;
+	}
+
+	/**
+	 * Gets a double value from the YAML object
+	 * @param path The handle of the key of the value you want to get
+	 * @return The value of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 * @throws NumberFormatException If the value of the searched key can not be converted to a double
+	 */
+	default double getDouble(@NotNull YamlPath path) throws YamlKeyNotFoundException, NumberFormatException
+	{
+		return getValueE(path).getValueAsDouble();
+	}
+
+	/**
+	 * Gets a double value from the YAML object
+	 * @param path The handle of the key of the value you want to get
+	 * @param defaultValue The default value that should be returned if the key could not be found
+	 * @return The value of the key you searched for
+	 * @throws NumberFormatException If the value of the searched key can not be converted to a double
+	 */
+	default double getDouble(@NotNull YamlPath path, double defaultValue) throws NumberFormatException
+	{
+		YamlValue value = getValue(path);
+		return (value != null) ? value.getValueAsDouble() : defaultValue;
+	}
+
+	/**
+	 * Gets a boolean value from the YAML object
+	 * @param path The handle of the key of the value you want to get
+	 * @return The value of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 */
+	default boolean getBoolean(@NotNull YamlPath path) throws YamlKeyNotFoundException
+	{
+		return getValueE(path).getValueAsBoolean();
+	}
+
+	/**
+	 * Gets a boolean value from the YAML object
+	 * @param path The handle of the key of the value you want to get
+	 * @param defaultValue The default value that should be returned if the key could not be found
+	 * @return The value of the key you searched for
+	 */
+	default boolean getBoolean(@NotNull YamlPath path, boolean defaultValue)
+	{
+		YamlValue value = getValue(path);
+		return (value != null) ? value.getValueAsBoolean() : defaultValue;
+	}
+
+	/**
+	 * Gets a value from the YAML object converted to the given type, see {@link YamlConverters} for the supported types
+	 * @param path The handle of the key of the value you want to get
+	 * @param type The type the value should be converted to
+	 * @param <T> The type the value should be converted to
+	 * @return The value of the key you searched for
+	 * @throws YamlKeyNotFoundException If the key you searched for could not be found in the YAML object
+	 * @throws IllegalArgumentException If the value of the searched key can not be converted to the type
+	 */
+	default <T> @NotNull T get(@NotNull YamlPath path, @NotNull Class<T> type) throws YamlKeyNotFoundException, IllegalArgumentException
+	{
+		return getValueE(path).getValueAs(type);
+	}
+	//endregion
+}
@@ -0,0 +1,317 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Index of the dotted keys of a yaml tree. The keys are stored as a tree of their dot separated segments,
+ * so keys with the same prefix share the entries of the prefix and the full key strings never have to be kept in memory.
+ * The index behaves like two maps from the full key to the node of the key, one for all nodes and one for the nodes holding values.
+ * Keys are compared as strings, e.g. a node named "a.b" in the root and a node "b" in the node "a" have the same key.
+ */
+final class YamlKeyIndex
+{
+	private static final int CHILD_MAP_THRESHOLD = 8; // The children of an entry are looked up in a map once it has more children than this
+
+	private Entry root = new Entry("");
+
+	/**
+	 * Adds the keys of a node and all its sub nodes, like they would be added when loading the node into the root.
+	 *
+	 * @param node The node to add
+	 */
+	void add(final @NotNull YamlNode node)
+	{
+		add(root, node);
+	}
+
+	private void add(final @NotNull Entry parent, final @NotNull YamlNode node)
+	{
+		Entry entry = descend(parent, node.getName());
+		entry.node = node;
+		if(node.hasValue() || node.isArray()) entry.valueNode = node;
+		if(!node.isList())
+		{
+			for(int i = 0; i < node.getElementCount(); i++)
+			{
+				YamlElement child = node.getElement(i);
+				if(child instanceof YamlNode) add(entry, (YamlNode) child);
+			}
+		}
+	}
+
+	/**
+	 * Adds all the keys of another index. Keys that exist in both indexes get the nodes of the other index.
+	 * The other index must not be used afterwards, its entries are reused.
+	 *
+	 * @param other The index that should be added
+	 */
+	void addAll(final @NotNull YamlKeyIndex other)
+	{
+		root.merge(other.root);
+	}
+
+	void putNode(final @NotNull String key, final @NotNull YamlNode node)
+	{
+		descend(root, key).node = node;
+	}
+
+	void putValueNode(final @NotNull String key, final @NotNull YamlNode node)
+	{
+		descend(root, key).valueNode = node;
+	}
+
+	@Nullable YamlNode getNode(final @NotNull String key)
+	{
+		Entry entry = find(key);
+		return (entry != null) ? entry.node : null;
+	}
+
+	@Nullable YamlNode getValueNode(final @NotNull String key)
+	{
+		Entry entry = find(key);
+		return (entry != null) ? entry.valueNode : null;
+	}
+
+	void clear()
+	{
+		root = new Entry("");
+	}
+
+	/**
+	 * Collects keys of the index.
+	 *
+	 * @param valueKeys True to only collect the keys of nodes holding values, false to collect the keys of all nodes
+	 * @param subKeys False to only collect the keys without a dot, the keys below them are not visited at all
+	 * @param keys The collection the keys are added to
+	 */
+	void collectKeys(final boolean valueKeys, final boolean subKeys, final @NotNull Collection<String> keys)
+	{
+		collectKeys("", valueKeys, subKeys, keys);
+	}
+
+	/**
+	 * Collects the keys below a key.
+	 *
+	 * @param parentKey The key whose sub keys should be collected, the key itself is included too
+	 * @param valueKeys True to only collect the keys of nodes holding values, false to collect the keys of all nodes
+	 * @param subKeys False to only collect the keys of the direct children, the keys below them are not visited at all
+	 * @param keys The collection the keys are added to
+	 */
+	void collectKeys(final @NotNull String parentKey, final boolean valueKeys, final boolean subKeys, final @NotNull Collection<String> keys)
+	{
+		Entry entry = find(parentKey);
+		if(entry == null) return;
+		if(entry.has(valueKeys)) keys.add(parentKey);
+		StringBuilder keyBuilder = new StringBuilder(parentKey);
+		for(int i = 0; i < entry.childCount; i++)
+		{
+			entry.children[i].collectKeys(keyBuilder, entry == root, valueKeys, subKeys, keys);
+		}
+	}
+
+	/**
+	 * Finds the keys matching a path query. The tree is walked while the iterator is consumed, it must not be modified in the meantime.
+	 *
+	 * @param query The query the keys have to match
+	 * @param valueKeys True to only find the keys of nodes holding values, false to find the keys of all nodes
+	 * @return An iterator over the nodes of the matching keys
+	 */
+	@NotNull Iterator<Map.Entry<String, YamlNode>> find(final @NotNull YamlPathQuery query, final boolean valueKeys)
+	{
+		return new QueryIterator(query, valueKeys);
+	}
+
+	/**
+	 * Gets the entry of the key formed by the key of the parent entry and the given name, the entries that don't exist yet are created.
+	 */
+	private @NotNull Entry descend(final @NotNull Entry parent, final @NotNull String name)
+	{
+		if(parent == root && name.isEmpty()) return root; // The key of a node without a name in the root is the key of the root
+		return parent.descend(name, 0);
+	}
+
+	private @Nullable Entry find(final @NotNull String key)
+	{
+		if(key.isEmpty()) return root;
+		Entry entry = root;
+		int start = 0, end;
+		do
+		{
+			end = key.indexOf('.', start);
+			if(end < 0) end = key.length();
+			entry = entry.getChild(key, start, end);
+			start = end + 1;
+		}
+		while(entry != null && end < key.length());
+		return entry;
+	}
+
+	private final class QueryIterator implements Iterator<Map.Entry<String, YamlNode>>
+	{
+		private final YamlPathQuery query;
+		private final boolean valueKeys;
+		private final StringBuilder keyBuilder = new StringBuilder();
+		// Depth first walk, the entries still to visit with the state and the length of the key of their parent
+		private final Deque<Entry> entries = new ArrayDeque<>();
+		private final Deque<long[]> parentStates = new ArrayDeque<>();
+		private Map.Entry<String, YamlNode> next = null;
+
+		QueryIterator(final @NotNull YamlPathQuery query, final boolean valueKeys)
+		{
+			this.query = query;
+			this.valueKeys = valueKeys;
+			long states = query.start();
+			YamlNode node = valueKeys ? root.valueNode : root.node;
+			if(node != null && query.isMatch(states)) next = new AbstractMap.SimpleImmutableEntry<>("", node);
+			pushChildren(root, states, -1);
+		}
+
+		private void pushChildren(final @NotNull Entry entry, final long states, final int keyLength)
+		{
+			if(!query.canContinue(states)) return;
+			String literal = query.getLiteral(states);
+			if(literal != null)
+			{ // Only one child can match, no need to check all of them
+				Entry child = entry.getChild(literal, 0, literal.length());
+				if(child != null) push(child, states, keyLength);
+			}
+			else
+			{
+				for(int i = entry.childCount - 1; i >= 0; i--)
+				{ // Reversed, so the children are visited in the order they have been added
+					push(entry.children[i], states, keyLength);
+				}
+			}
+		}
+
+		private void push(final @NotNull Entry entry, final long states, final int keyLength)
+		{
+			entries.push(entry);
+			parentStates.push(new long[] { states, keyLength });
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			while(next == null && !entries.isEmpty())
+			{
+				Entry entry = entries.pop();
+				long[] parent = parentStates.pop();
+				long states = query.step(parent[0], entry.segment);
+				if(states == 0) continue;
+				if(parent[1] < 0) keyBuilder.setLength(0);
+				else
+				{
+					keyBuilder.setLength((int) parent[1]);
+					keyBuilder.append('.');
+				}
+				keyBuilder.append(entry.segment);
+				YamlNode node = valueKeys ? entry.valueNode : entry.node;
+				if(node != null && query.isMatch(states)) next = new AbstractMap.SimpleImmutableEntry<>(keyBuilder.toString(), node);
+				pushChildren(entry, states, keyBuilder.length());
+			}
+			return next != null;
+		}
+
+		@Override
+		public Map.Entry<String, YamlNode> next()
+		{
+			if(!hasNext()) throw new NoSuchElementException();
+			Map.Entry<String, YamlNode> result = next;
+			next = null;
+			return result;
+		}
+	}
+
+	private static final class Entry
+	{
+		private final @NotNull String segment;
+		private YamlNode node = null, valueNode = null;
+		private Entry[] children = null;
+		private int childCount = 0;
+		private Map<String, Entry> childMap = null;
+
+		Entry(final @NotNull String segment)
+		{
+			this.segment = segment;
+		}
+
+		boolean has(final boolean valueKey)
+		{
+			return (valueKey ? valueNode : node) != null;
+		}
+
+		@Nullable Entry getChild(final @NotNull String key, final int start, final int end)
+		{
+			if(childMap != null) return childMap.get(key.substring(start, end));
+			int length = end - start;
+			for(int i = 0; i < childCount; i++)
+			{
+				Entry child = children[i];
+				if(child.segment.length() == length && key.regionMatches(start, child.segment, 0, length)) return child;
+			}
+			return null;
+		}
+
+		private void addChild(final @NotNull Entry child)
+		{
+			if(children == null) children = new Entry[2];
+			else if(childCount == children.length) children = Arrays.copyOf(children, childCount * 2);
+			children[childCount++] = child;
+			if(childMap != null) childMap.put(child.segment, child);
+			else if(childCount > CHILD_MAP_THRESHOLD)
+			{
+				childMap = new HashMap<>();
+				for(int i = 0; i < childCount; i++)
+				{
+					childMap.put(children[i].segment, children[i]);
+				}
+			}
+		}
+
+		@NotNull Entry descend(final @NotNull String name, final int start)
+		{
+			int end = name.indexOf('.', start);
+			if(end < 0) end = name.length();
+			Entry child = getChild(name, start, end);
+			if(child == null)
+			{ // Names without dots are used as segment directly
+				child = new Entry((start == 0 && end == name.length()) ? name : name.substring(start, end));
+				addChild(child);
+			}
+			return (end == name.length()) ? child : child.descend(name, end + 1);
+		}
+
+		void merge(final @NotNull Entry other)
+		{
+			if(other.node != null) node = other.node;
+			if(other.valueNode != null) valueNode = other.valueNode;
+			for(int i = 0; i < other.childCount; i++)
+			{
+				Entry otherChild = other.children[i];
+				Entry child = getChild(otherChild.segment, 0, otherChild.segment.length());
+				if(child == null) addChild(otherChild);
+				else child.merge(otherChild);
+			}
+		}
+
+		void collectKeys(final @NotNull StringBuilder keyBuilder, final boolean inRoot, final boolean valueKeys, final boolean subKeys, final @NotNull Collection<String> keys)
+		{
+			int length = keyBuilder.length();
+			if(!inRoot) keyBuilder.append('.');
+			keyBuilder.append(segment);
+			if(has(valueKeys)) keys.add(keyBuilder.toString());
+			if(subKeys)
+			{
+				for(int i = 0; i < childCount; i++)
+				{
+					children[i].collectKeys(keyBuilder, false, valueKeys, true, keys);
+				}
+			}
+			keyBuilder.setLength(length);
+		}
+	}
+}
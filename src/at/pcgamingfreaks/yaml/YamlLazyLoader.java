@@ -0,0 +1,201 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helper class that only indexes the top-level keys of a yaml document and parses the sub trees when they are accessed.
+ * The whole document gets validated while indexing, so parsing a sub tree later on never fails.
+ */
+final class YamlLazyLoader
+{
+	private final String data;
+	private final List<Chunk> chunks = new ArrayList<>();
+	private final Map<String, Chunk> chunkMap = new HashMap<>();
+	@Getter private final @NotNull YamlNode root = new YamlNode("");
+	@Getter private String footerComment;
+	@Getter private int tabSize;
+	private int unloadedChunks;
+	private int lineNr = 1, lineStart = 0; // Position used to find the start of lines
+
+	private YamlLazyLoader(final @NotNull String data)
+	{
+		this.data = data;
+	}
+
+	/**
+	 * Indexes the top-level keys of a yaml document.
+	 *
+	 * @param data The yaml document
+	 * @return The index of the document, null if the document can't be loaded lazy (e.g. it is indented with tabs or has values on the root level)
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 */
+	static @Nullable YamlLazyLoader index(final @NotNull String data) throws YamlInvalidContentException
+	{
+		YamlLazyLoader loader = new YamlLazyLoader(data);
+		try(YamlEventReader events = new YamlEventReader(YamlLineSource.of(data)))
+		{
+			return loader.index(events) ? loader : null;
+		}
+		catch(IOException e)
+		{ // Can't happen when reading from a string
+			e.printStackTrace();
+		}
+		return null;
+	}
+
+	private boolean index(final @NotNull YamlEventReader events) throws YamlInvalidContentException, IOException
+	{
+		Chunk chunk = new Chunk(0);
+		chunks.add(chunk);
+		StringBuilder commentBuilder = new StringBuilder();
+		int commentLine = -1;
+		while(events.hasNext())
+		{
+			switch(events.next())
+			{
+				case COMMENT:
+					if(commentLine < 0) commentLine = events.getLineStartNumber();
+					commentBuilder.append(events.getValue()).append('\n');
+					break;
+				case START_MAPPING_KEY:
+					if(events.getDepth() == 1)
+					{
+						String name = events.getName();
+						if(chunkMap.containsKey(name)) return false; // Duplicated keys are merged in an unexpected way
+						int start = findLineStart((commentLine < 0) ? events.getLineStartNumber() : commentLine), keyStart = findLineStart(events.getLineStartNumber());
+						// Only keys without indentation start a new sub tree independent of the indentation of the lines in front of it
+						if(!chunk.names.isEmpty() && data.charAt(keyStart) > ' ')
+						{
+							chunk.end = start;
+							chunk = new Chunk(start);
+							chunks.add(chunk);
+						}
+						//noinspection ConstantConditions
+						chunk.names.add(name);
+						chunkMap.put(name, chunk);
+					}
+					commentLine = -1;
+					commentBuilder.setLength(0);
+					break;
+				case SCALAR:
+				case START_SEQUENCE:
+					if(events.getDepth() == 0) return false; // Values in the root
+					if(events.getEvent() == YamlEvent.SCALAR)
+					{
+						commentLine = -1;
+						commentBuilder.setLength(0);
+					}
+					break;
+			}
+		}
+		if(events.isTabIndented()) return false; // The indentation of the lines depends on the first indented line of the document
+		if(chunks.size() < 2) return false;
+		for(String name : chunkMap.keySet())
+		{ // The keys of the sections would collide (e.g. the sub key "b" of "a" and the key "a.b"), they have to be loaded in the order of the document
+			for(int i = name.indexOf('.'); i >= 0; i = name.indexOf('.', i + 1))
+			{
+				if(chunkMap.containsKey(name.substring(0, i))) return false;
+			}
+		}
+		chunk.end = data.length();
+		unloadedChunks = chunks.size();
+		footerComment = commentBuilder.toString();
+		tabSize = events.getTabSize();
+		return true;
+	}
+
+	private int findLineStart(final int line)
+	{
+		while(lineNr < line)
+		{
+			lineStart = data.indexOf('\n', lineStart) + 1;
+			lineNr++;
+		}
+		return lineStart;
+	}
+
+	/**
+	 * @return True if all the sub trees have been parsed
+	 */
+	boolean isLoaded()
+	{
+		return unloadedChunks == 0;
+	}
+
+	/**
+	 * Parses the sub trees that could contain the given key.
+	 *
+	 * @param key The key that should be accessed
+	 * @param keys The key index of the document
+	 */
+	void load(final @NotNull String key, final @NotNull YamlKeyIndex keys)
+	{
+		load(chunkMap.get(key), keys);
+		for(int i = key.indexOf('.'); i >= 0; i = key.indexOf('.', i + 1))
+		{
+			load(chunkMap.get(key.substring(0, i)), keys);
+		}
+	}
+
+	/**
+	 * Parses all the sub trees that have not been accessed yet.
+	 *
+	 * @param keys The key index of the document
+	 */
+	void loadAll(final @NotNull YamlKeyIndex keys)
+	{
+		for(Chunk chunk : chunks)
+		{
+			load(chunk, keys);
+		}
+	}
+
+	private void load(final @Nullable Chunk chunk, final @NotNull YamlKeyIndex keys)
+	{
+		if(chunk == null || chunk.nodes != null) return;
+		int index = 0;
+		for(Chunk loadedChunk : chunks)
+		{
+			if(loadedChunk == chunk) break;
+			if(loadedChunk.nodes != null) index += loadedChunk.nodes.size();
+		}
+		try(YamlReader reader = new YamlReader(YamlLineSource.of(data, chunk.start, chunk.end)))
+		{
+			List<YamlNode> nodes = new ArrayList<>(chunk.names.size());
+			for(YamlElement element : reader.process().getElements())
+			{
+				nodes.add((YamlNode) element);
+				keys.add((YamlNode) element);
+			}
+			root.insertNodes(index, nodes);
+			chunk.nodes = nodes;
+			unloadedChunks--;
+		}
+		catch(YamlInvalidContentException | IOException e)
+		{ // Can't happen, the whole document has been validated while indexing
+			e.printStackTrace();
+		}
+	}
+
+	private static final class Chunk
+	{
+		private final int start;
+		private int end;
+		private final List<String> names = new ArrayList<>(1);
+		private List<YamlNode> nodes = null;
+
+		Chunk(final int start)
+		{
+			this.start = start;
+		}
+	}
+}
@@ -0,0 +1,186 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Helper class that decodes a byte stream or buffer in fixed size chunks and provides the decoded lines one by one.
+ * Only the line that is currently read and the chunk buffers are kept in memory.
+ */
+class YamlLineDecoder extends YamlLineSource
+{
+	private static final int BOM_SIZE = 4, BUFFER_SIZE = 8192;
+
+	private final @Nullable InputStream stream;
+	private final ByteBuffer bytes;
+	private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+	private final CharsetDecoder decoder;
+	private final StringBuilder lineBuilder = new StringBuilder();
+	private boolean endOfInput = false, flushed = false;
+	@Getter private final @NotNull String encoding;
+
+	YamlLineDecoder(final @NotNull InputStream stream) throws IOException
+	{
+		this.stream = stream;
+		bytes = ByteBuffer.allocate(BUFFER_SIZE);
+		bytes.flip();
+		while(!endOfInput && bytes.remaining() < BOM_SIZE) readBytes();
+		encoding = detectEncoding(bytes);
+		decoder = createDecoder(encoding);
+		chars.flip();
+	}
+
+	/**
+	 * @param buffer The buffer holding the complete data, e.g. a memory mapped file. The data is decoded directly from the buffer.
+	 */
+	YamlLineDecoder(final @NotNull ByteBuffer buffer)
+	{
+		this(buffer, detectEncoding(buffer));
+	}
+
+	/**
+	 * @param buffer The buffer holding the complete data without a BOM. The data is decoded directly from the buffer.
+	 * @param encoding The encoding of the data
+	 */
+	YamlLineDecoder(final @NotNull ByteBuffer buffer, final @NotNull String encoding)
+	{
+		stream = null;
+		bytes = buffer;
+		endOfInput = true;
+		this.encoding = encoding;
+		decoder = createDecoder(encoding);
+		chars.flip();
+	}
+
+	private static @NotNull CharsetDecoder createDecoder(final @NotNull String encoding)
+	{
+		return Charset.forName(encoding).newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Detects the encoding of the data based on its byte order mark and skips the BOM.
+	 *
+	 * @param buffer The buffer holding the start of the data
+	 * @return The detected encoding, UTF-8 if there is no BOM
+	 */
+	static @NotNull String detectEncoding(final @NotNull ByteBuffer buffer)
+	{
+		byte[] bom = new byte[BOM_SIZE];
+		int start = buffer.position(), count = Math.min(BOM_SIZE, buffer.remaining());
+		for(int i = 0; i < count; i++) bom[i] = buffer.get(start + i);
+		String encoding = "UTF-8";
+		int bomLength = 0;
+		if(count >= 3 && bom[0] == (byte) 0xEF && bom[1] == (byte) 0xBB && bom[2] == (byte) 0xBF)
+		{
+			bomLength = 3;
+		}
+		else if(count >= 2 && bom[0] == (byte) 0xFE && bom[1] == (byte) 0xFF)
+		{
+			encoding = "UTF-16BE";
+			bomLength = 2;
+		}
+		else if(count >= 2 && bom[0] == (byte) 0xFF && bom[1] == (byte) 0xFE)
+		{
+			if(count >= 4 && bom[2] == (byte) 0x00 && bom[3] == (byte) 0x00)
+			{
+				encoding = "UTF-32LE";
+				bomLength = 4;
+			}
+			else
+			{
+				encoding = "UTF-16LE";
+				bomLength = 2;
+			}
+		}
+		else if(count >= 4 && bom[0] == (byte) 0x00 && bom[1] == (byte) 0x00 && bom[2] == (byte) 0xFE && bom[3] == (byte) 0xFF)
+		{
+			encoding = "UTF-32BE";
+			bomLength = 4;
+		}
+		buffer.position(start + bomLength);
+		return encoding;
+	}
+
+	private void readBytes() throws IOException
+	{
+		if(stream == null)
+		{
+			endOfInput = true;
+			return;
+		}
+		bytes.compact();
+		int read = stream.read(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+		if(read > 0) bytes.position(bytes.position() + read);
+		bytes.flip();
+		if(read < 0) endOfInput = true;
+	}
+
+	private boolean fillChars() throws IOException
+	{
+		chars.clear();
+		while(chars.position() == 0 && !flushed)
+		{
+			CoderResult result = decoder.decode(bytes, chars, endOfInput);
+			if(result.isOverflow()) break;
+			if(endOfInput)
+			{
+				decoder.flush(chars);
+				flushed = true;
+			}
+			else readBytes();
+		}
+		chars.flip();
+		return chars.hasRemaining();
+	}
+
+	@Override
+	protected @Nullable String readRawLine() throws IOException
+	{
+		while(chars.hasRemaining() || fillChars())
+		{
+			char[] array = chars.array();
+			int start = chars.position(), end = chars.limit();
+			for(int i = start; i < end; i++)
+			{
+				if(array[i] == '\n')
+				{
+					lineBuilder.append(array, start, i - start);
+					chars.position(i + 1);
+					return finishLine();
+				}
+			}
+			lineBuilder.append(array, start, end - start);
+			chars.position(end);
+		}
+		return (lineBuilder.length() > 0) ? finishLine() : null;
+	}
+
+	private @NotNull String finishLine()
+	{
+		int length = lineBuilder.length();
+		if(length > 0 && lineBuilder.charAt(length - 1) == '\r') length--; // Windows style new line
+		String line = (length == 0) ? "" : lineBuilder.substring(0, length);
+		lineBuilder.setLength(0);
+		rawLineStart = 0;
+		rawLineEnd = length;
+		return line;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		super.close();
+		if(stream != null) stream.close();
+	}
+}
@@ -0,0 +1,138 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * Helper class that provides the lines of a yaml document one by one.
+ * The lines are provided as a range of a string, so they don't have to be copied if the document is already stored in a string.
+ * Empty lines at the end of the document are dropped (unless only a part of a string is read), if the document has no lines at all a single empty line is provided (only for empty strings when reading from a string).
+ */
+abstract class YamlLineSource implements AutoCloseable
+{
+	private int pendingEmptyLines = 0;
+	private String nextLine = null;
+	private int nextLineStart, nextLineEnd;
+	private boolean lineProvided = false;
+	protected boolean provideEmptyLine = true, keepEmptyLinesAtEnd = false;
+	protected int rawLineStart, rawLineEnd;
+	@Getter private int lineStart, lineEnd;
+
+	/**
+	 * Reads the next line. The range of the line within the returned string has to be stored in {@link #rawLineStart} and {@link #rawLineEnd}.
+	 *
+	 * @return The string containing the next line without the line ending, null if the end of the document is reached
+	 * @throws IOException If reading the underlying data failed
+	 */
+	protected abstract @Nullable String readRawLine() throws IOException;
+
+	/**
+	 * Reads the next line. The range of the line within the returned string is provided by {@link #getLineStart()} and {@link #getLineEnd()}.
+	 *
+	 * @return The string containing the next line of the document, null if the end of the document is reached
+	 * @throws IOException If reading the underlying data failed
+	 */
+	@Nullable String readLine() throws IOException
+	{
+		if(pendingEmptyLines > 0)
+		{
+			pendingEmptyLines--;
+			return emptyLine();
+		}
+		String line = nextLine;
+		if(line == null)
+		{
+			while((line = readRawLine()) != null && rawLineStart == rawLineEnd) pendingEmptyLines++;
+			if(line == null)
+			{
+				if(pendingEmptyLines > 0 && keepEmptyLinesAtEnd) pendingEmptyLines--;
+				else
+				{
+					pendingEmptyLines = 0;
+					if(lineProvided || !provideEmptyLine) return null;
+				}
+				lineProvided = true;
+				return emptyLine();
+			}
+			if(pendingEmptyLines > 0)
+			{
+				nextLine = line;
+				nextLineStart = rawLineStart;
+				nextLineEnd = rawLineEnd;
+				pendingEmptyLines--;
+				lineProvided = true;
+				return emptyLine();
+			}
+			lineStart = rawLineStart;
+			lineEnd = rawLineEnd;
+		}
+		else
+		{
+			nextLine = null;
+			lineStart = nextLineStart;
+			lineEnd = nextLineEnd;
+		}
+		lineProvided = true;
+		return line;
+	}
+
+	private @NotNull String emptyLine()
+	{
+		lineStart = lineEnd = 0;
+		return "";
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		nextLine = null;
+	}
+
+	static @NotNull YamlLineSource of(final @NotNull String dataString)
+	{
+		return new StringLineSource(dataString, 0, dataString.length());
+	}
+
+	/**
+	 * @param dataString The string containing the document
+	 * @param start The index of the first char of the document
+	 * @param end The index after the last char of the document
+	 * @return A line source for the given part of the string, empty lines at the end of the part are only dropped if the part is the end of the string
+	 */
+	static @NotNull YamlLineSource of(final @NotNull String dataString, final int start, final int end)
+	{
+		return new StringLineSource(dataString, start, end);
+	}
+
+	private static class StringLineSource extends YamlLineSource
+	{
+		private final String data;
+		private final int length;
+		private int position;
+
+		StringLineSource(final @NotNull String data, final int start, final int end)
+		{
+			this.data = data;
+			position = start;
+			length = end;
+			provideEmptyLine = start == end;
+			keepEmptyLinesAtEnd = end < data.length();
+		}
+
+		@Override
+		protected @Nullable String readRawLine()
+		{
+			if(position > length || (position == length && keepEmptyLinesAtEnd)) return null; // The part ends with a line break
+			int end = data.indexOf('\n', position);
+			if(end < 0 || end > length) end = length;
+			rawLineStart = position;
+			rawLineEnd = (end > position && end < length && data.charAt(end - 1) == '\r') ? end - 1 : end;
+			position = end + 1;
+			return data;
+		}
+	}
+}
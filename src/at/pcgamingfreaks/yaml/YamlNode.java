@@ -3,10 +3,7 @@
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import lombok.AccessLevel;
-import lombok.Data;
-import lombok.Getter;
-import lombok.Setter;
+import lombok.*;
 
 import java.lang.reflect.Array;
 import java.util.*;
@@ -14,11 +11,16 @@
 @Data
 public class YamlNode implements YamlElement, Cloneable
 {
+	private static final int NODE_MAP_THRESHOLD = 8; // Sub nodes are looked up in a map once a node has more sub nodes than this
+
 	private String name, comment = "";
 	private boolean list = false, array = false;
 	private Character quoteChar = null;
-	private final List<YamlElement> elements = new LinkedList<>();
-	private final Map<String, YamlNode> nodeMap = new HashMap<>();
+	// null if the node is empty, the element itself if the node has only one element or an array holding the elements, see getElements()
+	@Setter(AccessLevel.NONE) private Object elements = null;
+	@Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude private int size = 0;
+	// Only created for nodes with many sub nodes, see getNodeMap()
+	@Setter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude private Map<String, YamlNode> nodeMap = null;
 
 	@Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) private int valueCount = 0;
 
@@ -53,41 +55,200 @@ public YamlNode(final @NotNull YamlNode node)
 		setList(node.isList());
 		setArray(node.isArray());
 		setQuoteChar(node.getQuoteChar());
-		elements.addAll(node.getElements());
-		nodeMap.putAll(node.getNodeMap());
+		elements = (node.elements instanceof YamlElement[]) ? ((YamlElement[]) node.elements).clone() : node.elements;
+		size = node.size;
+		if(node.nodeMap != null) nodeMap = new HashMap<>(node.nodeMap);
 		valueCount = node.valueCount;
 	}
 
+	//region Element storage
+	/**
+	 * Gets the elements of the node. Unlike in earlier versions the list can't be changed, changes throw an {@link UnsupportedOperationException}.
+	 * Use {@link #addElement(YamlElement)}, {@link #addNode(YamlNode)}, {@link #removeElement(YamlElement)} or {@link #set(Object)} to change the elements.
+	 *
+	 * @return An unmodifiable view of the elements of the node, changes of the node are visible in it
+	 */
+	public @NotNull List<YamlElement> getElements()
+	{
+		return new AbstractList<YamlElement>()
+		{
+			@Override
+			public YamlElement get(final int index)
+			{
+				if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+				return getElement(index);
+			}
+
+			@Override
+			public int size()
+			{
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * Gets the sub nodes of the node by their names. Unlike in earlier versions the map can't be changed, changes throw an {@link UnsupportedOperationException}.
+	 * Use {@link #addNode(YamlNode)} or {@link #removeElement(YamlElement)} to change the sub nodes.
+	 *
+	 * @return An unmodifiable map of the sub nodes of the node, for nodes with few sub nodes it is a copy that doesn't show later changes
+	 */
+	public @NotNull Map<String, YamlNode> getNodeMap()
+	{
+		if(nodeMap != null) return Collections.unmodifiableMap(nodeMap);
+		Map<String, YamlNode> map = new HashMap<>();
+		putNodes(map);
+		return Collections.unmodifiableMap(map);
+	}
+
+	int getElementCount()
+	{
+		return size;
+	}
+
+	@NotNull YamlElement getElement(final int index)
+	{
+		return (size == 1) ? (YamlElement) elements : ((YamlElement[]) elements)[index];
+	}
+
+	private void insertElement(final int index, final @NotNull YamlElement element)
+	{
+		if(size == 0) elements = element;
+		else
+		{
+			YamlElement[] elementArray = makeRoom(index, 1);
+			elementArray[index] = element;
+			elements = elementArray;
+		}
+		size++;
+		if(element instanceof YamlNode) putNode((YamlNode) element);
+	}
+
+	private void insertElements(final int index, final @NotNull List<? extends YamlElement> newElements)
+	{
+		if(newElements.isEmpty()) return;
+		if(newElements.size() == 1)
+		{
+			insertElement(index, newElements.get(0));
+			return;
+		}
+		YamlElement[] elementArray = makeRoom(index, newElements.size());
+		for(int i = 0; i < newElements.size(); i++)
+		{
+			elementArray[index + i] = newElements.get(i);
+		}
+		elements = elementArray;
+		size += newElements.size();
+		for(YamlElement element : newElements)
+		{
+			if(element instanceof YamlNode) putNode((YamlNode) element);
+		}
+	}
+
+	/**
+	 * Moves the elements starting at the given index to make room for new elements.
+	 *
+	 * @return The array holding the elements, large enough for the new elements
+	 */
+	private @NotNull YamlElement[] makeRoom(final int index, final int count)
+	{
+		YamlElement[] elementArray;
+		if(size < 2)
+		{
+			elementArray = new YamlElement[Math.max(4, size + count)];
+			if(size == 1) elementArray[0] = (YamlElement) elements;
+		}
+		else
+		{
+			elementArray = (YamlElement[]) elements;
+			if(size + count > elementArray.length) elementArray = Arrays.copyOf(elementArray, Math.max(size + count, size + (size >> 1)));
+		}
+		System.arraycopy(elementArray, index, elementArray, index + count, size - index);
+		return elementArray;
+	}
+
+	private void putNode(final @NotNull YamlNode node)
+	{
+		if(nodeMap != null) nodeMap.put(node.getName(), node);
+		else if(size - valueCount > NODE_MAP_THRESHOLD)
+		{
+			nodeMap = new HashMap<>();
+			putNodes(nodeMap);
+			nodeMap.put(node.getName(), node); // The latest added node wins, even if it is not the last one
+		}
+	}
+
+	private void removeElementAt(final int index)
+	{
+		YamlElement element = getElement(index);
+		if(size == 1) elements = null;
+		else
+		{
+			YamlElement[] elementArray = (YamlElement[]) elements;
+			System.arraycopy(elementArray, index + 1, elementArray, index, size - index - 1);
+			elementArray[size - 1] = null;
+			if(size == 2) elements = elementArray[0];
+		}
+		size--;
+		if(element instanceof YamlNode && nodeMap != null) nodeMap.remove(((YamlNode) element).getName());
+	}
+
+	private void clearElements()
+	{
+		elements = null;
+		size = 0;
+		nodeMap = null;
+	}
+
+	private void putNodes(final @NotNull Map<String, YamlNode> map)
+	{
+		for(int i = 0; i < size; i++)
+		{
+			YamlElement element = getElement(i);
+			if(element instanceof YamlNode) map.put(((YamlNode) element).getName(), (YamlNode) element);
+		}
+	}
+
+	private @Nullable YamlNode findNode(final @NotNull String name)
+	{
+		if(nodeMap != null) return nodeMap.get(name);
+		for(int i = size - 1; i >= 0; i--)
+		{ // Search from the end, if there are multiple nodes with the same name the last one is used
+			YamlElement element = getElement(i);
+			if(element instanceof YamlNode && ((YamlNode) element).getName().equals(name)) return (YamlNode) element;
+		}
+		return null;
+	}
+	//endregion
+
 	public void addElement(@NotNull YamlElement element) throws YamlInvalidContentException
 	{
 		if(element instanceof YamlNode)
 		{
 			if(valueCount > 1 || list || array) throw new YamlInvalidContentException("It is not possible to add a sub key to a value list!");
-			nodeMap.put(((YamlNode) element).getName(), (YamlNode) element);
 		}
 		else
 		{
-			if(valueCount == 0 && elements.size() > 0)
+			if(valueCount == 0 && size > 0)
 			{
 				valueCount++;
-				elements.add(0, element);
+				insertElement(0, element);
 				return;
 			}
-			if(valueCount != elements.size()) throw new YamlInvalidContentException("It is not possible to add a sub key to a value list!");
+			if(valueCount != size) throw new YamlInvalidContentException("It is not possible to add a sub key to a value list!");
 			valueCount++;
 			if(valueCount > 1) list = true;
 		}
-		elements.add(element);
+		insertElement(size, element);
 	}
 
 	public void addNode(@NotNull YamlNode node) throws YamlInvalidContentException
 	{
 		if(valueCount > 1 || list || array) throw new YamlInvalidContentException("It is not possible to add a sub key to a value list!");
-		nodeMap.put(node.getName(), node);
-		float best = -1;
 		int i = 0, bestId = -1;
-		for(YamlElement element : elements)
+		for(int index = 0; index < size; index++)
 		{
+			YamlElement element = getElement(index);
 			if(element instanceof YamlNode)
 			{
 				if(((YamlNode) element).getName().startsWith(node.getName())) bestId = i;
@@ -97,20 +258,32 @@ public void addNode(@NotNull YamlNode node) throws YamlInvalidContentException
 			}
 			i++;
 		}
-		if(bestId >= 0 && bestId < elements.size()) elements.add(bestId, node); else elements.add(node);
+		insertElement((bestId >= 0 && bestId < size) ? bestId : size, node);
+	}
+
+	/**
+	 * Inserts sub nodes at the given position without reordering them.
+	 *
+	 * @param index The position in the element list at which the first node should be inserted
+	 * @param nodes The nodes to insert
+	 */
+	void insertNodes(final int index, final @NotNull List<YamlNode> nodes) throws YamlInvalidContentException
+	{
+		if(valueCount > 1 || list || array) throw new YamlInvalidContentException("It is not possible to add a sub key to a value list!");
+		insertElements(index, nodes);
 	}
 
 	public void removeElement(@NotNull YamlElement element)
 	{
-		if(element instanceof YamlNode)
+		if(element instanceof YamlValue) valueCount--;
+		for(int i = 0; i < size; i++)
 		{
-			nodeMap.remove(((YamlNode) element).getName());
-		}
-		else
-		{
-			valueCount--;
+			if(element.equals(getElement(i)))
+			{
+				removeElementAt(i);
+				return;
+			}
 		}
-		elements.remove(element);
 	}
 
 	public boolean hasValue()
@@ -125,24 +298,24 @@ public boolean isValue()
 
 	public boolean isValueList()
 	{
-		return valueCount == elements.size();
+		return valueCount == size;
 	}
 
 	public YamlNode getSubNode(@NotNull String subKey)
 	{
-		return nodeMap.get(subKey);
+		return findNode(subKey);
 	}
 
 	public boolean contains(@NotNull String subKey)
 	{
-		return nodeMap.containsKey(subKey);
+		return findNode(subKey) != null;
 	}
 
 	public @Nullable YamlValue getValue()
 	{
 		if(isValue())
 		{
-			return (YamlValue) elements.get(0);
+			return (YamlValue) getElement(0);
 		}
 		return null;
 	}
@@ -151,7 +324,7 @@ public boolean contains(@NotNull String subKey)
 	{
 		if(isValue())
 		{
-			return (YamlValue) elements.get(0);
+			return (YamlValue) getElement(0);
 		}
 		throw new YamlKeyNotFoundException("The given key dose not contain any data");
 	}
@@ -160,10 +333,10 @@ public boolean contains(@NotNull String subKey)
 	{
 		if(isValueList())
 		{
-			List<String> values = new ArrayList<>(elements.size());
-			for(YamlElement element : elements)
+			List<String> values = new ArrayList<>(size);
+			for(int i = 0; i < size; i++)
 			{
-				values.add(((YamlValue) element).getValue());
+				values.add(((YamlValue) getElement(i)).getValue());
 			}
 			return values;
 		}
@@ -174,10 +347,10 @@ public boolean contains(@NotNull String subKey)
 	{
 		if(isValueList())
 		{
-			List<YamlValue> values = new ArrayList<>(elements.size());
-			for(YamlElement element : elements)
+			List<YamlValue> values = new ArrayList<>(size);
+			for(int i = 0; i < size; i++)
 			{
-				values.add((YamlValue) element);
+				values.add((YamlValue) getElement(i));
 			}
 			return values;
 		}
@@ -188,10 +361,10 @@ public boolean contains(@NotNull String subKey)
 	{
 		if(isValueList())
 		{
-			List<YamlValue> values = new ArrayList<>(elements.size());
-			for(YamlElement element : elements)
+			List<YamlValue> values = new ArrayList<>(size);
+			for(int i = 0; i < size; i++)
 			{
-				values.add((YamlValue) element);
+				values.add((YamlValue) getElement(i));
 			}
 			return values;
 		}
@@ -201,7 +374,10 @@ public boolean contains(@NotNull String subKey)
 	private void removeAllValues()
 	{
 		valueCount = 0;
-		elements.removeIf(element -> element instanceof YamlValue);
+		for(int i = size - 1; i >= 0; i--)
+		{
+			if(getElement(i) instanceof YamlValue) removeElementAt(i);
+		}
 	}
 
 	private void addNewValue(@NotNull Object value) throws YamlInvalidContentException
@@ -233,7 +409,7 @@ public void set(@Nullable Object value) throws YamlInvalidContentException
 			{
 				removeAllValues();
 				list = true;
-				elements.clear();
+				clearElements();
 				for(Object val : (Iterable<?>) value)
 				{
 					addElement(new YamlValue((val instanceof String) ? (String) val : val.toString()));
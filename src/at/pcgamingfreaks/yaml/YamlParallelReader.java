@@ -0,0 +1,209 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Helper class that parses big yaml documents on multiple threads.
+ * The document gets split in front of top-level keys and every chunk gets parsed by its own {@link YamlReader} on the common {@link ForkJoinPool}.
+ * Splitting is speculative, if a chunk could depend on the content of the chunk before it (e.g. a quoted value continues in the next chunk,
+ * the document is indented with tabs or contains errors) the result is dropped and the document has to be parsed in one go.
+ */
+final class YamlParallelReader
+{
+	static final int MIN_CHUNK_SIZE = 512 * 1024, CHUNKS_PER_THREAD = 4;
+
+	@Getter private final @NotNull YamlNode root;
+	@Getter private final @NotNull String footerComment;
+	@Getter private final int tabSize;
+	private final List<Chunk> chunks;
+
+	private YamlParallelReader(final @NotNull YamlNode root, final @NotNull List<Chunk> chunks, final @NotNull String footerComment, final int tabSize)
+	{
+		this.root = root;
+		this.chunks = chunks;
+		this.footerComment = footerComment;
+		this.tabSize = tabSize;
+	}
+
+	/**
+	 * Adds the keys of all nodes below the root to the given index, like they would be added when loading the root.
+	 * Can only be called once, the indexes of the chunks are merged into the given index.
+	 *
+	 * @param keys The key index of the document
+	 */
+	void copyKeys(final @NotNull YamlKeyIndex keys)
+	{
+		for(Chunk chunk : chunks)
+		{
+			keys.addAll(chunk.keys);
+		}
+	}
+
+	/**
+	 * Parses a yaml string on multiple threads.
+	 *
+	 * @param data The yaml document
+	 * @return The parsed document, null if the document is too small or can't be parsed in chunks
+	 */
+	static @Nullable YamlParallelReader process(final @NotNull String data)
+	{
+		return process(0, data.length(), data::charAt, (start, end) -> YamlLineSource.of(data, start, end));
+	}
+
+	/**
+	 * Parses a yaml document stored in a buffer (e.g. a memory mapped file) on multiple threads. Only UTF-8 encoded documents are split.
+	 *
+	 * @param buffer The buffer holding the yaml document, its position is not changed
+	 * @return The parsed document, null if the document is too small, not UTF-8 encoded or can't be parsed in chunks
+	 */
+	static @Nullable YamlParallelReader process(final @NotNull ByteBuffer buffer)
+	{
+		if(buffer.remaining() < 2 * MIN_CHUNK_SIZE) return null;
+		ByteBuffer data = buffer.duplicate();
+		if(!"UTF-8".equals(YamlLineDecoder.detectEncoding(data))) return null;
+		// Line breaks and the ASCII chars used to find the split positions are never part of a multi byte sequence in UTF-8
+		return process(data.position(), data.limit(), index -> data.get(index) & 0xFF, (start, end) -> {
+			ByteBuffer slice = data.duplicate();
+			slice.limit(end).position(start);
+			return new YamlLineDecoder(slice.slice(), "UTF-8");
+		});
+	}
+
+	private static @Nullable YamlParallelReader process(final int start, final int end, final @NotNull IntUnaryOperator charAt, final @NotNull LineSourceFactory lineSourceFactory)
+	{
+		if(end - start < 2 * MIN_CHUNK_SIZE) return null;
+		int chunkSize = Math.max(MIN_CHUNK_SIZE, (end - start) / (ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD));
+		List<Chunk> chunks = new ArrayList<>();
+		int chunkStart = start, splitPosition;
+		while(end - chunkStart >= 2 * chunkSize && (splitPosition = findSplitPosition(chunkStart, chunkStart + chunkSize, end, charAt)) > 0)
+		{
+			chunks.add(new Chunk(lineSourceFactory, chunkStart, splitPosition));
+			chunkStart = splitPosition;
+		}
+		if(chunks.isEmpty()) return null;
+		chunks.add(new Chunk(lineSourceFactory, chunkStart, end));
+		ForkJoinTask.invokeAll(chunks);
+
+		int tabSize = -1;
+		for(Chunk chunk : chunks)
+		{
+			if(chunk.root == null || chunk.tabIndented || chunk.root.hasValue() || chunk.root.isList() || chunk.root.isArray()) return null;
+			if(tabSize < 0 && chunk.tabSizeSet) tabSize = chunk.tabSize;
+		}
+		for(int i = 0; i < chunks.size() - 1; i++)
+		{
+			if(!chunks.get(i).footerComment.isEmpty()) return null;
+		}
+		Chunk last = chunks.get(chunks.size() - 1);
+		if(tabSize < 0) tabSize = last.tabSize; // Nothing is indented, the default is used
+		YamlNode root = chunks.get(0).root;
+		try
+		{
+			for(int i = 1; i < chunks.size(); i++)
+			{
+				for(YamlElement element : chunks.get(i).root.getElements())
+				{
+					root.addElement(element);
+				}
+			}
+		}
+		catch(YamlInvalidContentException e)
+		{
+			return null;
+		}
+		return new YamlParallelReader(root, chunks, last.footerComment, tabSize);
+	}
+
+	/**
+	 * Finds the position in front of the first top-level key at or after the given position.
+	 * Comments and empty lines in front of the key belong to the key and are included in its chunk.
+	 *
+	 * @return The position of the first char of the chunk starting with the key, -1 if there is no top-level key in the range
+	 */
+	private static int findSplitPosition(final int chunkStart, final int from, final int end, final @NotNull IntUnaryOperator charAt)
+	{
+		for(int lineStart = nextLineStart(from, end, charAt); lineStart < end; lineStart = nextLineStart(lineStart, end, charAt))
+		{
+			int c = charAt.applyAsInt(lineStart);
+			// indented, empty, comment, list, escaped line end that would indent the line or not an ASCII char
+			if(c <= ' ' || c >= 0x7F || c == '#' || c == '-' || c == '\\') continue;
+			int splitPosition = lineStart;
+			while(splitPosition > chunkStart)
+			{
+				int previousLineStart = splitPosition - 1;
+				while(previousLineStart > chunkStart && charAt.applyAsInt(previousLineStart - 1) != '\n') previousLineStart--;
+				if(!isCommentOrEmpty(previousLineStart, splitPosition - 1, charAt)) break;
+				splitPosition = previousLineStart;
+			}
+			if(splitPosition > chunkStart) return splitPosition;
+		}
+		return -1;
+	}
+
+	private static int nextLineStart(int position, final int end, final @NotNull IntUnaryOperator charAt)
+	{
+		while(position < end && charAt.applyAsInt(position) != '\n') position++;
+		return position + 1;
+	}
+
+	private static boolean isCommentOrEmpty(int position, final int lineEnd, final @NotNull IntUnaryOperator charAt)
+	{
+		while(position < lineEnd && charAt.applyAsInt(position) <= ' ') position++;
+		return position == lineEnd || charAt.applyAsInt(position) == '#';
+	}
+
+	private interface LineSourceFactory
+	{
+		@NotNull YamlLineSource create(int start, int end);
+	}
+
+	private static final class Chunk extends RecursiveAction
+	{
+		private final LineSourceFactory lineSourceFactory;
+		private final int start, end;
+		private final YamlKeyIndex keys = new YamlKeyIndex();
+		private YamlNode root = null;
+		private String footerComment;
+		private int tabSize;
+		private boolean tabSizeSet, tabIndented;
+
+		Chunk(final @NotNull LineSourceFactory lineSourceFactory, final int start, final int end)
+		{
+			this.lineSourceFactory = lineSourceFactory;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute()
+		{
+			try(YamlReader reader = new YamlReader(lineSourceFactory.create(start, end)))
+			{
+				YamlNode chunkRoot = reader.process();
+				footerComment = reader.getFooterComment();
+				tabSize = reader.getTabSize();
+				tabSizeSet = reader.isTabSizeSet();
+				tabIndented = reader.isTabIndented();
+				for(YamlElement element : chunkRoot.getElements())
+				{
+					if(element instanceof YamlNode) keys.add((YamlNode) element);
+				}
+				root = chunkRoot;
+			}
+			catch(Exception ignored)
+			{ // The document gets parsed again in one go, which reports the error with the correct line number
+			}
+		}
+	}
+}
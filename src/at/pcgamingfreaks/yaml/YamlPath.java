@@ -0,0 +1,45 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handle for a key that is read often. The node of the key is cached by the YAML object when it is looked up for the first time,
+ * following reads don't have to look up the key again until the YAML object is changed (e.g. with set, load or clear).
+ * The handle can be shared between threads and used with multiple YAML objects, it doesn't hold any reference to the objects or their nodes.
+ * Handles should be created once and kept, e.g. as constants. Every handle gets its own slot in the caches of the YAML objects,
+ * the keys of handles created after the first {@value #MAX_CACHED} handles are looked up on every read.
+ *
+ * <pre>{@code
+ * private static final YamlPath PORT = new YamlPath("server.port");
+ * ...
+ * int port = yaml.getInt(PORT, 80);
+ * }</pre>
+ */
+public final class YamlPath
+{
+	static final int MAX_CACHED = 4096;
+	private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+	@Getter private final @NotNull String key;
+	@Getter(AccessLevel.PACKAGE) private final int id; // The slot of the handle in the caches of the YAML objects
+
+	/**
+	 * @param key The dotted key the handle should point to
+	 */
+	public YamlPath(final @NotNull String key)
+	{
+		this.key = key;
+		id = NEXT_ID.getAndUpdate(next -> (next < MAX_CACHED) ? next + 1 : next); // All handles after the limit share the id that is not cached
+	}
+
+	@Override
+	public String toString()
+	{
+		return key;
+	}
+}
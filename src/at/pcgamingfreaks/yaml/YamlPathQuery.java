@@ -0,0 +1,169 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled path pattern used to find keys in a yaml tree.
+ * The pattern consists of dot separated segments, each segment matches one segment of a key:
+ * <ul>
+ *     <li>{@code *} matches any segment</li>
+ *     <li>{@code **} matches any number of segments, including none</li>
+ *     <li>A segment containing a {@code *} matches every segment that can be formed by replacing the {@code *} with any text (e.g. {@code db*})</li>
+ *     <li>Every other segment has to be matched exactly</li>
+ * </ul>
+ * E.g. {@code servers.*.port} matches the key {@code servers.main.port} and {@code **.timeout} matches all keys ending with {@code timeout}.
+ * The pattern is evaluated for every segment of the keys while walking the tree, sub trees that can't match anymore are skipped.
+ */
+public final class YamlPathQuery
+{
+	private static final int MAX_CACHE_SIZE = 1024, MAX_SEGMENTS = 62;
+	private static final Map<String, YamlPathQuery> CACHE = new ConcurrentHashMap<>();
+	private static final byte LITERAL = 0, GLOB = 1, ANY = 2, ANY_DEPTH = 3;
+
+	@Getter private final @NotNull String pattern;
+	private final String[] segments;
+	private final String[][] globParts;
+	private final byte[] types;
+	private final long start;
+
+	private YamlPathQuery(final @NotNull String pattern)
+	{
+		this.pattern = pattern;
+		segments = pattern.isEmpty() ? new String[0] : pattern.split("\\.", -1);
+		if(segments.length > MAX_SEGMENTS) throw new IllegalArgumentException("The pattern \"" + pattern + "\" has more than " + MAX_SEGMENTS + " segments");
+		types = new byte[segments.length];
+		globParts = new String[segments.length][];
+		for(int i = 0; i < segments.length; i++)
+		{
+			String segment = segments[i];
+			if(segment.equals("**")) types[i] = ANY_DEPTH;
+			else if(segment.equals("*")) types[i] = ANY;
+			else if(segment.indexOf('*') >= 0)
+			{
+				types[i] = GLOB;
+				globParts[i] = segment.split("\\*", -1);
+			}
+			else types[i] = LITERAL;
+		}
+		start = closure(1);
+	}
+
+	/**
+	 * Compiles a path pattern. Compiled patterns are cached, compiling the same pattern again is cheap.
+	 *
+	 * @param pattern The pattern to compile
+	 * @return The compiled pattern
+	 * @throws IllegalArgumentException If the pattern has too many segments
+	 */
+	public static @NotNull YamlPathQuery compile(final @NotNull String pattern)
+	{
+		YamlPathQuery query = CACHE.get(pattern);
+		if(query == null)
+		{
+			query = new YamlPathQuery(pattern);
+			if(CACHE.size() >= MAX_CACHE_SIZE) CACHE.clear(); // Patterns built from user input would fill the cache forever
+			CACHE.put(pattern, query);
+		}
+		return query;
+	}
+
+	//region matching, the states are a bit set of the pattern segments the key could be matched against next
+	/**
+	 * @return The state for the root, before any segment has been matched
+	 */
+	long start()
+	{
+		return start;
+	}
+
+	/**
+	 * Matches the next segment of a key.
+	 *
+	 * @param states The state for the key in front of the segment
+	 * @param segment The segment
+	 * @return The state for the key including the segment, 0 if no key starting with it can match
+	 */
+	long step(final long states, final @NotNull String segment)
+	{
+		long next = 0;
+		for(int i = 0; i < segments.length; i++)
+		{
+			if((states & (1L << i)) == 0) continue;
+			if(types[i] == ANY_DEPTH) next |= 1L << i;
+			else if(matches(i, segment)) next |= 1L << (i + 1);
+		}
+		return closure(next);
+	}
+
+	/**
+	 * @return True if the key the state belongs to is matched by the pattern
+	 */
+	boolean isMatch(final long states)
+	{
+		return (states & (1L << segments.length)) != 0;
+	}
+
+	/**
+	 * @return True if keys below the key the state belongs to can be matched by the pattern
+	 */
+	boolean canContinue(final long states)
+	{
+		return (states & ~(1L << segments.length)) != 0;
+	}
+
+	/**
+	 * @return The only segment that can be matched next, null if there are wildcards or multiple possible segments
+	 */
+	@Nullable String getLiteral(final long states)
+	{
+		if(Long.bitCount(states & ~(1L << segments.length)) != 1) return null;
+		int i = Long.numberOfTrailingZeros(states);
+		return (types[i] == LITERAL) ? segments[i] : null;
+	}
+
+	private long closure(long states)
+	{ // ** can match no segment at all, the next pattern segment can be matched directly
+		for(int i = 0; i < segments.length; i++)
+		{
+			if((states & (1L << i)) != 0 && types[i] == ANY_DEPTH) states |= 1L << (i + 1);
+		}
+		return states;
+	}
+
+	private boolean matches(final int i, final @NotNull String segment)
+	{
+		switch(types[i])
+		{
+			case LITERAL: return segments[i].equals(segment);
+			case GLOB: return matchesGlob(globParts[i], segment);
+			default: return true;
+		}
+	}
+
+	private static boolean matchesGlob(final @NotNull String[] parts, final @NotNull String segment)
+	{
+		String first = parts[0], last = parts[parts.length - 1];
+		if(segment.length() < first.length() + last.length() || !segment.startsWith(first) || !segment.endsWith(last)) return false;
+		int position = first.length(), end = segment.length() - last.length();
+		for(int i = 1; i < parts.length - 1; i++)
+		{
+			position = segment.indexOf(parts[i], position);
+			if(position < 0 || position + parts[i].length() > end) return false;
+			position += parts[i].length();
+		}
+		return true;
+	}
+	//endregion
+
+	@Override
+	public String toString()
+	{
+		return pattern;
+	}
+}
@@ -0,0 +1,222 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Helper class with the character level scanning functions used to tokenize yaml lines.
+ * All functions work on a range (from inclusive, to exclusive) of the given string and do not allocate any objects, except for unescaping.
+ */
+final class YamlScanner
+{
+	private YamlScanner() {}
+
+	/**
+	 * Checks if a char is a whitespace (same chars as \s in a regex)
+	 */
+	static boolean isWhitespace(final char c)
+	{
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	static boolean isLineTerminator(final char c)
+	{
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	static boolean containsLineTerminator(final @NotNull String s, int from, final int to)
+	{
+		for(; from < to; from++)
+		{
+			if(isLineTerminator(s.charAt(from))) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return The index of the first char that would not be removed by {@link String#trim()}
+	 */
+	static int trimStart(final @NotNull String s, int from, final int to)
+	{
+		while(from < to && s.charAt(from) <= ' ') from++;
+		return from;
+	}
+
+	/**
+	 * @return The index after the last char that would not be removed by {@link String#trim()}
+	 */
+	static int trimEnd(final @NotNull String s, final int from, int to)
+	{
+		while(to > from && s.charAt(to - 1) <= ' ') to--;
+		return to;
+	}
+
+	/**
+	 * Checks if the line end is escaped with a backslash.
+	 *
+	 * @param line The string containing the line to check
+	 * @param from The index of the first char of the line
+	 * @param to The index after the last char of the line
+	 * @return The index of the backslash escaping the line end, -1 if the line end is not escaped
+	 */
+	static int findEscapedLineEnd(final @NotNull String line, final int from, final int to)
+	{
+		int end = to;
+		while(end > from && isWhitespace(line.charAt(end - 1))) end--;
+		int runStart = end;
+		while(runStart > from && line.charAt(runStart - 1) == '\\') runStart--;
+		if(((end - runStart) & 1) == 0) return -1; // escaped backslash
+		if(indexOf(line, '\\', from, runStart) >= 0) return -1; // backslashes inside the line are not supported
+		return end - 1;
+	}
+
+	/**
+	 * Finds the closing quote of a quoted string. The char at from has to be the opening quote.
+	 *
+	 * @return The index of the closing quote, -1 if the string is not closed within the range
+	 */
+	static int findClosingQuote(final @NotNull String s, final int from, final int to)
+	{
+		final char quoteChar = s.charAt(from);
+		for(int i = from + 1; i < to; i++)
+		{
+			char c = s.charAt(i);
+			if(quoteChar == '"')
+			{
+				if(c == '\\') i++;
+				else if(c == '"') return i;
+			}
+			else if(c == '\'')
+			{
+				if(i + 1 < to && s.charAt(i + 1) == '\'') i++;
+				else return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Finds the end of the key at the start of the range.
+	 *
+	 * @return The index of the colon that ends the key, -1 if the range does not start with a valid key
+	 */
+	static int findKeyEnd(final @NotNull String s, final int from, final int to)
+	{
+		if(from >= to) return -1;
+		char c = s.charAt(from);
+		if(c == '"' || c == '\'')
+		{
+			int close = findClosingQuote(s, from, to);
+			return (close >= 0 && close + 1 < to && s.charAt(close + 1) == ':') ? close + 1 : -1;
+		}
+		boolean segmentStart = true;
+		for(int i = from; i < to; i++)
+		{
+			c = s.charAt(i);
+			if(c == ':') return segmentStart ? -1 : i;
+			if(c == '.')
+			{
+				if(segmentStart) return -1;
+				segmentStart = true;
+			}
+			else if(isWhitespace(c) || c == '\'' || c == '"') return -1;
+			else segmentStart = false;
+		}
+		return -1;
+	}
+
+	/**
+	 * Finds the start of an inline comment (whitespaces followed by a # and no further line).
+	 *
+	 * @return The index of the first whitespace before the #, to if there is no inline comment
+	 */
+	static int findInlineComment(final @NotNull String s, final int from, final int to)
+	{
+		int lastLineTerminator = to - 1;
+		while(lastLineTerminator >= from && !isLineTerminator(s.charAt(lastLineTerminator))) lastLineTerminator--;
+		int i = from;
+		while(i < to)
+		{
+			if(isWhitespace(s.charAt(i)))
+			{
+				int runEnd = i + 1;
+				while(runEnd < to && isWhitespace(s.charAt(runEnd))) runEnd++;
+				if(runEnd < to && runEnd > lastLineTerminator && s.charAt(runEnd) == '#') return i;
+				i = runEnd;
+			}
+			else i++;
+		}
+		return to;
+	}
+
+	/**
+	 * Checks if the range is a valid inline comment (whitespaces followed by a # and no further line).
+	 */
+	static boolean isInlineComment(final @NotNull String s, final int from, final int to)
+	{
+		if(from >= to || !isWhitespace(s.charAt(from))) return false;
+		int i = from + 1;
+		while(i < to && isWhitespace(s.charAt(i))) i++;
+		return i < to && s.charAt(i) == '#' && !containsLineTerminator(s, i + 1, to);
+	}
+
+	/**
+	 * Finds a char within a range, without searching the rest of the string.
+	 *
+	 * @return The index of the char, -1 if the range doesn't contain the char
+	 */
+	static int indexOf(final @NotNull String s, final char search, int from, final int to)
+	{
+		for(; from < to; from++)
+		{
+			if(s.charAt(from) == search) return from;
+		}
+		return -1;
+	}
+
+	static int count(final @NotNull String s, final char search, int from, final int to)
+	{
+		int count = 0;
+		for(; from < to; from++)
+		{
+			if(s.charAt(from) == search) count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Removes the escaping of a quoted string.
+	 *
+	 * @param s The string containing the value
+	 * @param from The index of the first char after the opening quote
+	 * @param to The index of the closing quote
+	 * @param quoteChar The quote char used to quote the value
+	 * @return The unescaped value
+	 */
+	static @NotNull String unescape(final @NotNull String s, final int from, final int to, final char quoteChar)
+	{
+		final char escapeChar = quoteChar == '"' ? '\\' : '\'';
+		int i = indexOf(s, escapeChar, from, to - 1);
+		if(i < 0) return s.substring(from, to);
+		StringBuilder builder = new StringBuilder(to - from);
+		builder.append(s, from, i);
+		for(; i < to; i++)
+		{
+			char c = s.charAt(i);
+			if(c == escapeChar && i + 1 < to)
+			{
+				char next = s.charAt(i + 1);
+				if(quoteChar == '"')
+				{
+					switch(next)
+					{
+						case 'n': c = '\n'; i++; break;
+						case '"': case '\\': c = next; i++; break;
+					}
+				}
+				else if(next == '\'') i++;
+			}
+			builder.append(c);
+		}
+		return builder.toString();
+	}
+}
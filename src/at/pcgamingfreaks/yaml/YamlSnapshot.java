@@ -0,0 +1,135 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable copy of the values of a YAML object, created with {@link YAML#freeze()}.
+ * Nothing of the snapshot can be changed (the returned value elements throw an {@link UnsupportedOperationException} if they are changed),
+ * so it can be shared by any number of threads without synchronization. Use a {@link YamlSnapshotRef} to replace the snapshot used by the readers.
+ */
+public final class YamlSnapshot implements YamlGetter
+{
+	// Sorted keys and their values, the value of a key is its value element or, for lists, an unmodifiable list of the values
+	private final String[] keys;
+	private final Object[] values;
+	private final BitSet noList = new BitSet(); // Keys holding a value and sub keys, they can't be read as list
+	// Open addressing hash table of the key positions + 1, 0 marks an empty slot
+	private final int[] index;
+
+	YamlSnapshot(final @NotNull YAML yaml)
+	{
+		keys = yaml.getKeys(true).toArray(new String[0]);
+		Arrays.sort(keys);
+		values = new Object[keys.length];
+		index = new int[Integer.highestOneBit(Math.max(keys.length, 1) * 2 - 1) << 1]; // At most half of the slots are used
+		for(int i = 0; i < keys.length; i++)
+		{
+			YamlValue value = yaml.getValue(keys[i]);
+			List<String> list = yaml.getStringList(keys[i], null);
+			if(value != null)
+			{ // The list of a single value is created when it is needed
+				values[i] = new FrozenValue(value);
+				if(list == null) noList.set(i);
+			}
+			else if(list != null) values[i] = list.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(list.toArray(new String[0])));
+			int mask = index.length - 1, slot = YamlFlatDocument.spread(keys[i].hashCode()) & mask;
+			while(index[slot] != 0) slot = (slot + 1) & mask;
+			index[slot] = i + 1;
+		}
+	}
+
+	private int find(final @NotNull String key)
+	{
+		int mask = index.length - 1;
+		for(int slot = YamlFlatDocument.spread(key.hashCode()) & mask; ; slot = (slot + 1) & mask)
+		{
+			int position = index[slot] - 1;
+			if(position < 0 || keys[position].equals(key)) return position;
+		}
+	}
+
+	@Override
+	public boolean isSet(final @NotNull String key)
+	{
+		return find(key) >= 0;
+	}
+
+	@Override
+	public @Nullable YamlValue getValue(final @NotNull String key)
+	{
+		int position = find(key);
+		return (position >= 0 && values[position] instanceof YamlValue) ? (YamlValue) values[position] : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public @Nullable List<String> getStringList(final @NotNull String key, final @Nullable List<String> defaultValue)
+	{
+		int position = find(key);
+		if(position < 0 || values[position] == null || noList.get(position)) return defaultValue;
+		Object value = values[position];
+		return (value instanceof YamlValue) ? Collections.singletonList(((YamlValue) value).getValue()) : (List<String>) value;
+	}
+
+	/**
+	 * @return The keys holding values in sorted order, the set can't be changed
+	 */
+	public @NotNull Set<String> getKeys()
+	{
+		return new AbstractSet<String>()
+		{
+			@Override
+			public boolean contains(final Object key)
+			{
+				return key instanceof String && isSet((String) key);
+			}
+
+			@Override
+			public @NotNull Iterator<String> iterator()
+			{
+				return Arrays.asList(keys).iterator();
+			}
+
+			@Override
+			public int size()
+			{
+				return keys.length;
+			}
+		};
+	}
+
+	private static final class FrozenValue extends YamlValue
+	{
+		FrozenValue(final @NotNull YamlValue value)
+		{
+			super(value);
+		}
+
+		@Override
+		public void setValue(final @NotNull String value)
+		{
+			throw new UnsupportedOperationException("The values of a snapshot can't be changed");
+		}
+
+		@Override
+		public void setComment(final String comment)
+		{
+			throw new UnsupportedOperationException("The values of a snapshot can't be changed");
+		}
+
+		@Override
+		public void setPreComment(final String preComment)
+		{
+			throw new UnsupportedOperationException("The values of a snapshot can't be changed");
+		}
+
+		@Override
+		public void setQuoteChar(final Character quoteChar)
+		{
+			throw new UnsupportedOperationException("The values of a snapshot can't be changed");
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package at.pcgamingfreaks.yaml;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Holder of the current snapshot of yaml data that is read by many threads.
+ * Readers get the current snapshot with {@link #current()} without any locking.
+ * New data is loaded into a new snapshot while the readers keep using the old one, the new snapshot replaces the old one once it is complete.
+ * Readers that should see consistent values should get the snapshot once and read all their values from it.
+ */
+public final class YamlSnapshotRef
+{
+	private volatile YamlSnapshot current;
+
+	/**
+	 * @param snapshot The initial snapshot
+	 */
+	public YamlSnapshotRef(final @NotNull YamlSnapshot snapshot)
+	{
+		current = snapshot;
+	}
+
+	/**
+	 * @param yaml The YAML object the initial snapshot should be created from
+	 */
+	public YamlSnapshotRef(final @NotNull YAML yaml)
+	{
+		this(yaml.freeze());
+	}
+
+	/**
+	 * @return The current snapshot
+	 */
+	public @NotNull YamlSnapshot current()
+	{
+		return current;
+	}
+
+	/**
+	 * Replaces the current snapshot.
+	 *
+	 * @param snapshot The new snapshot
+	 */
+	public void publish(final @NotNull YamlSnapshot snapshot)
+	{
+		current = snapshot;
+	}
+
+	/**
+	 * Replaces the current snapshot with the snapshot of the given YAML object.
+	 *
+	 * @param yaml The YAML object the new snapshot should be created from
+	 * @return The new snapshot
+	 */
+	public @NotNull YamlSnapshot publish(final @NotNull YAML yaml)
+	{
+		YamlSnapshot snapshot = yaml.freeze();
+		publish(snapshot);
+		return snapshot;
+	}
+
+	/**
+	 * Loads new data and replaces the current snapshot with it. The current snapshot is kept if the data is invalid.
+	 *
+	 * @param dataString The YAML data that should be loaded
+	 * @return The new snapshot
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 */
+	public @NotNull YamlSnapshot reload(final @NotNull String dataString) throws YamlInvalidContentException
+	{
+		try(YAML yaml = new YAML(dataString))
+		{
+			return publish(yaml);
+		}
+	}
+
+	/**
+	 * Loads new data and replaces the current snapshot with it. The current snapshot is kept if the data is invalid.
+	 *
+	 * @param file The file that should be loaded
+	 * @return The new snapshot
+	 * @throws IOException If any file handling failed
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 */
+	public @NotNull YamlSnapshot reload(final @NotNull File file) throws IOException, YamlInvalidContentException
+	{
+		try(YAML yaml = new YAML(file))
+		{
+			return publish(yaml);
+		}
+	}
+
+	/**
+	 * Loads new data and replaces the current snapshot with it. The current snapshot is kept if the data is invalid.
+	 *
+	 * @param path The file that should be loaded
+	 * @return The new snapshot
+	 * @throws IOException If any file handling failed
+	 * @throws YamlInvalidContentException If the YAML content is invalid
+	 */
+	public @NotNull YamlSnapshot reload(final @NotNull Path path) throws IOException, YamlInvalidContentException
+	{
+		try(YAML yaml = new YAML(path))
+		{
+			return publish(yaml);
+		}
+	}
+}
@@ -3,18 +3,24 @@
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import lombok.Data;
+import lombok.*;
 
-import java.util.regex.Pattern;
+import java.util.function.Function;
 
 @Data
 public class YamlValue implements YamlElement
 {
-	private static final Pattern MUST_BE_QUOTED = Pattern.compile("[^-.\\w]");
-
-	private String value;
+	private volatile String value;
 	private String comment = "", preComment = "";
 	private Character quoteChar = null;
+	// Range of the not yet extracted value within the source document
+	@Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude private String source = null;
+	@Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude private int start, end;
+	@Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude private char escapeChar = '\0';
+	// The value converted to numbers or a boolean, only created when the value is accessed as one of them
+	@Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude private volatile Parsed parsed = null;
+	// The value converted with the converter used last, see getValueAs(Class)
+	@Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude private volatile Converted converted = null;
 
 	public YamlValue(final @NotNull String data)
 	{
@@ -33,17 +39,266 @@ public YamlValue(final @NotNull String data, final @Nullable String comment, @Nu
 		setValue(data);
 	}
 
+	/**
+	 * Copies a value, the parsed and converted forms of the value are shared with the copy.
+	 *
+	 * @param value The value to copy
+	 */
+	YamlValue(final @NotNull YamlValue value)
+	{
+		this.value = value.getValue();
+		comment = value.comment;
+		preComment = value.preComment;
+		quoteChar = value.quoteChar;
+		parsed = value.parsed;
+		converted = value.converted;
+	}
+
+	/**
+	 * Creates a value that is only extracted from the source document (and unescaped) when it is accessed for the first time.
+	 *
+	 * @param source The string containing the value
+	 * @param start The index of the first char of the value (after the opening quote)
+	 * @param end The index after the last char of the value (in front of the closing quote)
+	 * @param comment The comment of the value
+	 * @param quoteChar The quote char used for the value in the source document, null if the value is not quoted
+	 */
+	YamlValue(final @NotNull String source, final int start, final int end, final @NotNull String comment, final @Nullable Character quoteChar)
+	{
+		this.comment = comment;
+		this.quoteChar = quoteChar;
+		this.source = source;
+		this.start = start;
+		this.end = end;
+		if(quoteChar == null) updateQuoteChar(source, start, end); // The value is used as it is
+		else escapeChar = quoteChar;
+	}
+
+	public @NotNull String getValue()
+	{
+		String value = this.value;
+		return (value != null) ? value : extractValue();
+	}
+
+	private synchronized @NotNull String extractValue()
+	{
+		if(value == null)
+		{
+			value = (escapeChar != '\0') ? YamlScanner.unescape(source, start, end, escapeChar) : source.substring(start, end);
+			source = null;
+		}
+		return value;
+	}
+
 	public void setValue(final @NotNull String value)
 	{
 		this.value = value;
+		source = null;
+		parsed = null;
+		converted = null;
+		updateQuoteChar(value, 0, value.length());
+	}
+
+	//region Typed access, the parsed values are kept until the value is changed
+	/**
+	 * @return The value as long, parsed like {@link Long#parseLong(String)}
+	 * @throws NumberFormatException If the value can not be converted to a long
+	 */
+	public long getValueAsLong() throws NumberFormatException
+	{
+		Parsed parsed = getParsed(Parsed.LONG);
+		if(parsed != null) return parsed.longValue;
+		String value = getValue();
+		long longValue = Long.parseLong(value);
+		this.parsed = new Parsed(value, this.parsed, Parsed.LONG, longValue, 0, 0, false);
+		return longValue;
+	}
+
+	/**
+	 * @return The value as int, parsed like {@link Integer#parseInt(String)}
+	 * @throws NumberFormatException If the value can not be converted to an int
+	 */
+	public int getValueAsInt() throws NumberFormatException
+	{
+		return (int) getValueInRange(Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @return The value as short, parsed like {@link Short#parseShort(String)}
+	 * @throws NumberFormatException If the value can not be converted to a short
+	 */
+	public short getValueAsShort() throws NumberFormatException
+	{
+		return (short) getValueInRange(Short.MIN_VALUE, Short.MAX_VALUE);
+	}
+
+	/**
+	 * @return The value as byte, parsed like {@link Byte#parseByte(String)}
+	 * @throws NumberFormatException If the value can not be converted to a byte
+	 */
+	public byte getValueAsByte() throws NumberFormatException
+	{
+		return (byte) getValueInRange(Byte.MIN_VALUE, Byte.MAX_VALUE);
+	}
+
+	private long getValueInRange(final long min, final long max) throws NumberFormatException
+	{
+		long longValue = getValueAsLong();
+		if(longValue < min || longValue > max) throw new NumberFormatException("Value out of range. Value:\"" + getValue() + "\" Radix:10");
+		return longValue;
+	}
+
+	/**
+	 * @return The value as double, parsed like {@link Double#parseDouble(String)}
+	 * @throws NumberFormatException If the value can not be converted to a double
+	 */
+	public double getValueAsDouble() throws NumberFormatException
+	{
+		Parsed parsed = getParsed(Parsed.DOUBLE);
+		if(parsed != null) return parsed.doubleValue;
+		String value = getValue();
+		double doubleValue = Double.parseDouble(value);
+		this.parsed = new Parsed(value, this.parsed, Parsed.DOUBLE, 0, doubleValue, 0, false);
+		return doubleValue;
+	}
+
+	/**
+	 * @return The value as float, parsed like {@link Float#parseFloat(String)}
+	 * @throws NumberFormatException If the value can not be converted to a float
+	 */
+	public float getValueAsFloat() throws NumberFormatException
+	{
+		Parsed parsed = getParsed(Parsed.FLOAT);
+		if(parsed != null) return parsed.floatValue;
+		String value = getValue();
+		float floatValue = Float.parseFloat(value);
+		this.parsed = new Parsed(value, this.parsed, Parsed.FLOAT, 0, 0, floatValue, false);
+		return floatValue;
+	}
+
+	/**
+	 * @return The value as boolean, parsed like {@link Boolean#parseBoolean(String)}
+	 */
+	public boolean getValueAsBoolean()
+	{
+		Parsed parsed = getParsed(Parsed.BOOLEAN);
+		if(parsed != null) return parsed.booleanValue;
+		String value = getValue();
+		boolean booleanValue = Boolean.parseBoolean(value);
+		this.parsed = new Parsed(value, this.parsed, Parsed.BOOLEAN, 0, 0, 0, booleanValue);
+		return booleanValue;
+	}
+
+	private @Nullable Parsed getParsed(final int type)
+	{
+		Parsed parsed = this.parsed;
+		// The parsed values are only used if they have been parsed from the current value
+		return (parsed != null && (parsed.types & type) != 0 && parsed.value == value) ? parsed : null;
+	}
+
+	/**
+	 * Converts the value with the converter registered for the given type, see {@link YamlConverters}.
+	 * The converted value is kept until the value is changed or the value is converted to another type.
+	 *
+	 * @param type The type the value should be converted to
+	 * @param <T> The type the value should be converted to
+	 * @return The converted value, the wrapper type for primitive types
+	 * @throws IllegalArgumentException If there is no converter for the type or if the value can't be converted
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> @NotNull T getValueAs(final @NotNull Class<T> type) throws IllegalArgumentException
+	{
+		Function<String, ?> converter = YamlConverters.get(type);
+		String value = getValue();
+		Converted converted = this.converted;
+		if(converted == null || converted.converter != converter || converted.value != value)
+		{
+			Object result;
+			try
+			{
+				result = converter.apply(value);
+			}
+			catch(RuntimeException e)
+			{ // Converters like Duration.parse throw their own exceptions
+				throw new IllegalArgumentException("The value \"" + value + "\" could not be converted to " + type.getName(), e);
+			}
+			if(result == null) throw new IllegalArgumentException("The value \"" + value + "\" could not be converted to " + type.getName());
+			converted = new Converted(value, converter, result);
+			this.converted = converted;
+		}
+		return (T) converted.result;
+	}
+
+	private static final class Converted
+	{
+		private final String value;
+		private final Function<String, ?> converter;
+		private final Object result;
+
+		Converted(final @NotNull String value, final @NotNull Function<String, ?> converter, final @NotNull Object result)
+		{
+			this.value = value;
+			this.converter = converter;
+			this.result = result;
+		}
+	}
+
+	/**
+	 * Immutable, so it can be replaced while other threads are reading it. Every type that is parsed creates a new instance with the types parsed before.
+	 */
+	private static final class Parsed
+	{
+		private static final int LONG = 1, DOUBLE = 2, FLOAT = 4, BOOLEAN = 8;
+
+		private final String value;
+		private final int types;
+		private final long longValue;
+		private final double doubleValue;
+		private final float floatValue;
+		private final boolean booleanValue;
+
+		Parsed(final @NotNull String value, final @Nullable Parsed previous, final int type, final long longValue, final double doubleValue, final float floatValue, final boolean booleanValue)
+		{
+			this.value = value;
+			if(previous != null && previous.value == value)
+			{
+				types = previous.types | type;
+				this.longValue = (type == LONG) ? longValue : previous.longValue;
+				this.doubleValue = (type == DOUBLE) ? doubleValue : previous.doubleValue;
+				this.floatValue = (type == FLOAT) ? floatValue : previous.floatValue;
+				this.booleanValue = (type == BOOLEAN) ? booleanValue : previous.booleanValue;
+			}
+			else
+			{
+				types = type;
+				this.longValue = longValue;
+				this.doubleValue = doubleValue;
+				this.floatValue = floatValue;
+				this.booleanValue = booleanValue;
+			}
+		}
+	}
+	//endregion
+
+	private void updateQuoteChar(final @NotNull String value, final int start, final int end)
+	{
 		if(quoteChar == null)
 		{
-			boolean needsQuote = MUST_BE_QUOTED.matcher(value).find();
-			if(needsQuote)
+			if(mustBeQuoted(value, start, end))
 			{
-				if(value.contains("\"") && !value.contains("'")) quoteChar = '\'';
+				if(YamlScanner.count(value, '"', start, end) > 0 && YamlScanner.count(value, '\'', start, end) == 0) quoteChar = '\'';
 				else quoteChar = '"';
 			}
 		}
 	}
+
+	private static boolean mustBeQuoted(final @NotNull String value, final int start, final int end)
+	{
+		for(int i = start; i < end; i++)
+		{
+			char c = value.charAt(i);
+			if(!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-' || c == '.')) return true;
+		}
+		return false;
+	}
 }
\ No newline at end of file
@@ -3,19 +3,35 @@
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
- * Helper class to convert a yaml object beck to a string
+ * Helper class to convert a yaml object beck to a string.
+ * The output is collected in a small buffer that is written to the target whenever it is full, the document is never held in memory as a whole.
  */
 class YamlWriter implements AutoCloseable
 {
-	private static final Pattern NEEDS_ESCAPE_PATTERN = Pattern.compile("[\\s:\\\\\"'\\.]");
+	private static final int BUFFER_SIZE = 8192;
 
 	private final @NotNull YamlNode root;
-	private StringBuilder yamlBuilder;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int bufferPosition = 0;
+	private Writer out;
 	private String tab = "    ", footerComment = "", newLineSymbol = "\n";
+	private String[] indentations = { "" };
 
 	YamlWriter(@NotNull YamlNode root)
 	{
@@ -47,10 +63,161 @@ class YamlWriter implements AutoCloseable
 
 	@NotNull String process() throws YamlInvalidContentException
 	{
-		yamlBuilder = new StringBuilder();
-		process(root, "");
-		yamlBuilder.append(footerComment);
-		return yamlBuilder.toString();
+		StringWriter writer = new StringWriter();
+		try
+		{
+			process(writer);
+		}
+		catch(IOException e)
+		{
+			throw new UncheckedIOException(e); // A StringWriter never throws
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * Writes the yaml data to a writer. The writer is neither flushed nor closed.
+	 *
+	 * @param writer The writer the yaml data should be written to
+	 */
+	void process(final @NotNull Writer writer) throws IOException, YamlInvalidContentException
+	{
+		process(writer, false);
+	}
+
+	/**
+	 * Writes the yaml data to a writer. The writer is neither flushed nor closed.
+	 *
+	 * @param writer The writer the yaml data should be written to
+	 * @param parallel If set to true the top level sections are created in parallel on the common {@link ForkJoinPool}, the output is the same
+	 */
+	void process(final @NotNull Writer writer, final boolean parallel) throws IOException, YamlInvalidContentException
+	{
+		out = writer;
+		bufferPosition = 0;
+		// Creating the sections in their own buffers only pays off if there is more than one thread to create them
+		if(parallel && ForkJoinPool.getCommonPoolParallelism() > 1 && !root.isArray() && !root.isList() && root.getElements().size() > 1) processSectionsParallel();
+		else process(root, 0);
+		append(footerComment);
+		flushBuffer();
+	}
+
+	//region parallel processing
+	/**
+	 * Creates the top level sections of the root node in their own buffers on the common pool and writes them in order.
+	 * Only a limited number of sections are created ahead of the section that is currently written, to limit the memory used for the buffers.
+	 */
+	private void processSectionsParallel() throws IOException, YamlInvalidContentException
+	{
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		int maxPending = pool.getParallelism() * 2;
+		Iterator<YamlElement> sections = root.getElements().iterator();
+		Deque<Future<CharArrayWriter>> pending = new ArrayDeque<>(maxPending);
+		try
+		{
+			boolean newLine = false;
+			while(sections.hasNext() || !pending.isEmpty())
+			{
+				while(sections.hasNext() && pending.size() < maxPending)
+				{
+					YamlElement section = sections.next();
+					pending.add(pool.submit(() -> processSection(section)));
+				}
+				if(newLine) append(newLineSymbol);
+				flushBuffer();
+				getSection(pending.poll()).writeTo(out);
+				newLine = true;
+			}
+		}
+		finally
+		{
+			for(Future<CharArrayWriter> section : pending)
+			{
+				section.cancel(false);
+			}
+		}
+	}
+
+	private @NotNull CharArrayWriter processSection(final @NotNull YamlElement section) throws IOException, YamlInvalidContentException
+	{
+		CharArrayWriter sectionOut = new CharArrayWriter();
+		YamlWriter sectionWriter = new YamlWriter(root);
+		sectionWriter.tab = tab;
+		sectionWriter.newLineSymbol = newLineSymbol;
+		sectionWriter.out = sectionOut;
+		sectionWriter.writeElement(section, 0);
+		sectionWriter.flushBuffer();
+		return sectionOut;
+	}
+
+	private static @NotNull CharArrayWriter getSection(final @NotNull Future<CharArrayWriter> section) throws IOException, YamlInvalidContentException
+	{
+		try
+		{
+			return section.get();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a section to be written");
+		}
+		catch(ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if(cause instanceof YamlInvalidContentException) throw (YamlInvalidContentException) cause;
+			if(cause instanceof IOException) throw (IOException) cause;
+			if(cause instanceof RuntimeException) throw (RuntimeException) cause;
+			if(cause instanceof Error) throw (Error) cause;
+			throw new IOException(cause);
+		}
+	}
+	//endregion
+
+	//region output buffer
+	private void append(final char c) throws IOException
+	{
+		if(bufferPosition == buffer.length) flushBuffer();
+		buffer[bufferPosition++] = c;
+	}
+
+	private void append(final @NotNull String string) throws IOException
+	{
+		int length = string.length();
+		if(length > buffer.length - bufferPosition)
+		{
+			flushBuffer();
+			if(length > buffer.length)
+			{
+				out.write(string);
+				return;
+			}
+		}
+		string.getChars(0, length, buffer, bufferPosition);
+		bufferPosition += length;
+	}
+
+	private void flushBuffer() throws IOException
+	{
+		if(bufferPosition > 0) out.write(buffer, 0, bufferPosition);
+		bufferPosition = 0;
+	}
+	//endregion
+
+	/**
+	 * Gets the indentation for a depth, the indentations are created once and reused for all nodes
+	 */
+	private @NotNull String indentation(final int depth)
+	{
+		if(depth >= indentations.length)
+		{
+			int size = indentations.length;
+			indentations = Arrays.copyOf(indentations, Math.max(depth + 1, size * 2));
+			for(int i = size; i < indentations.length; i++)
+			{
+				indentations[i] = indentations[i - 1] + tab;
+			}
+		}
+		return indentations[depth];
 	}
 
 	@SuppressWarnings("BooleanMethodIsAlwaysInverted")
@@ -60,116 +227,140 @@ private boolean isRoot(@Nullable YamlNode node)
 		return node == root; // This is ok, we need to check if it is the same object as the root object, not if the value is the same
 	}
 
-	private void process(@NotNull YamlNode node, @NotNull String indentation) throws YamlInvalidContentException
+	private void process(@NotNull YamlNode node, int depth) throws IOException, YamlInvalidContentException
 	{
-		String nextIndentation;
+		int nextDepth;
 		if(!isRoot(node))
 		{
-			nextIndentation = indentation + tab;
-			yamlBuilder.append(node.getComment());
-			yamlBuilder.append(indentation);
-			yamlBuilder.append(formatNodeName(node, indentation)).append(':');
+			nextDepth = depth + 1;
+			append(node.getComment());
+			append(indentation(depth));
+			writeNodeName(node.getName(), indentation(depth));
+			append(':');
 		}
-		else nextIndentation = "";
-		if(node.isArray()) writeArray(node, nextIndentation);
-		else if(node.isList()) writeList(node, nextIndentation);
+		else nextDepth = 0;
+		if(node.isArray()) writeArray(node, nextDepth);
+		else if(node.isList()) writeList(node, nextDepth);
 		else
 		{
-			if(!node.hasValue() && !isRoot(node)) yamlBuilder.append(newLineSymbol);
+			// Sub nodes of a node without value start in a new line, all elements are separated by new lines
+			boolean newLine = !node.hasValue() && !isRoot(node);
 			for(YamlElement child : node.getElements())
 			{
-				if(child instanceof YamlValue)
-				{
-					writeValue((YamlValue) child, nextIndentation);
-					yamlBuilder.append(newLineSymbol);
-				}
-				else if(child instanceof YamlNode)
-				{
-					process((YamlNode) child, nextIndentation);
-					yamlBuilder.append(newLineSymbol);
-				}
+				if(newLine) append(newLineSymbol);
+				writeElement(child, nextDepth);
+				newLine = true;
 			}
-			yamlBuilder.deleteCharAt(yamlBuilder.length() - 1);
 		}
 	}
 
-	private boolean stringNeedsEscaping(final @NotNull String string)
+	private void writeElement(final @NotNull YamlElement element, int depth) throws IOException, YamlInvalidContentException
 	{
-		return NEEDS_ESCAPE_PATTERN.matcher(string).find();
+		if(element instanceof YamlValue)
+		{
+			writeValue((YamlValue) element, depth);
+		}
+		else if(element instanceof YamlNode)
+		{
+			process((YamlNode) element, depth);
+		}
 	}
 
-	private @NotNull String formatNodeName(final @NotNull YamlNode node, final @NotNull String indentation)
+	private static boolean stringNeedsEscaping(final @NotNull String string)
 	{
-		char preferredEscape = '\0';
-		if (stringNeedsEscaping(node.getName()))
+		for(int i = 0; i < string.length(); i++)
 		{
-			if(node.getName().contains("'"))
-			{
-				return quoteString(node.getName(), '"', indentation);
-			}
-			else
+			switch(string.charAt(i))
 			{
-				return quoteString(node.getName(), '\'', indentation);
+				case ' ': case '\t': case '\n': case '\u000B': case '\f': case '\r': case ':': case '\\': case '"': case '\'': case '.':
+					return true;
 			}
 		}
-		return node.getName();
+		return false;
 	}
 
-	private @NotNull String quoteString(@NotNull String val, @Nullable Character quoteChar, @NotNull String indentation)
+	private void writeNodeName(final @NotNull String name, final @NotNull String indentation) throws IOException
 	{
-		if(quoteChar != null)
+		if(stringNeedsEscaping(name))
 		{
-			switch(quoteChar)
-			{
-				case '"':
-					val = val.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
-					break;
-				case '\'':
-					val = val.replace("'", "''");
-			}
-			val = quoteChar + val + quoteChar;
+			writeQuoted(name, (name.indexOf('\'') >= 0) ? '"' : '\'', indentation);
 		}
-		if(quoteChar == null || quoteChar == '\'')
+		else append(name);
+	}
+
+	/**
+	 * Writes a string with the given quotes, the escaping is done while writing the characters into the output buffer.
+	 */
+	private void writeQuoted(final @NotNull String val, final @Nullable Character quoteChar, final @NotNull String indentation) throws IOException
+	{
+		char quote = (quoteChar == null) ? '\0' : quoteChar;
+		if(quoteChar != null) append(quote);
+		for(int i = 0; i < val.length(); i++)
 		{
-			val = val.replace("\n", "\n" + indentation + "\n" + indentation);
+			char c = val.charAt(i);
+			if(quote == '"')
+			{
+				switch(c)
+				{
+					case '\\': append('\\'); append('\\'); continue;
+					case '"': append('\\'); append('"'); continue;
+					case '\n': append('\\'); append('n'); continue;
+				}
+			}
+			else if(quoteChar == null || quote == '\'')
+			{
+				if(c == '\'' && quote == '\'')
+				{
+					append('\'');
+				}
+				else if(c == '\n')
+				{ // Line breaks in values are written as an empty line
+					append('\n');
+					append(indentation);
+					append('\n');
+					append(indentation);
+					continue;
+				}
+			}
+			append(c);
 		}
-		return val;
+		if(quoteChar != null) append(quote);
 	}
 
-	private void writeValue(@NotNull YamlValue value, @NotNull String indentation)
+	private void writeValue(@NotNull YamlValue value, int depth) throws IOException
 	{
-		yamlBuilder.append(' ');
-		yamlBuilder.append(quoteString(value.getValue(), value.getQuoteChar(), indentation));
-		yamlBuilder.append(value.getComment());
+		append(' ');
+		writeQuoted(value.getValue(), value.getQuoteChar(), indentation(depth));
+		append(value.getComment());
 	}
 
-	private void writeArray(@NotNull YamlNode node, @NotNull String indentation) throws YamlInvalidContentException
+	private void writeArray(@NotNull YamlNode node, int depth) throws IOException, YamlInvalidContentException
 	{
 		List<YamlValue> values = node.getValues();
 		if(values == null) throw new YamlInvalidContentException("Node is marked as an array, but does not contain an array");
-		yamlBuilder.append(" [");
-		String prefix = "";
+		append(" [");
+		boolean first = true;
 		for(YamlValue value : values)
 		{
-			yamlBuilder.append(prefix);
-			writeValue(value, indentation + tab);
-			prefix = ",";
+			if(!first) append(',');
+			writeValue(value, depth + 1);
+			first = false;
 		}
-		if(values.size() > 0) yamlBuilder.append(' ');
-		yamlBuilder.append(']');
+		if(values.size() > 0) append(' ');
+		append(']');
 	}
 
-	private void writeList(@NotNull YamlNode node, @NotNull String indentation) throws YamlInvalidContentException
+	private void writeList(@NotNull YamlNode node, int depth) throws IOException, YamlInvalidContentException
 	{
-		String prefix = indentation + "-";
 		List<YamlValue> values = node.getValues();
 		if(values == null) throw new YamlInvalidContentException("Node is marked as a list does not contain a list");
 		for(YamlValue value : values)
 		{
-			yamlBuilder.append(newLineSymbol);
-			yamlBuilder.append(value.getPreComment());
-			yamlBuilder.append(prefix);
-			writeValue(value, indentation + tab);
+			append(newLineSymbol);
+			append(value.getPreComment());
+			append(indentation(depth));
+			append('-');
+			writeValue(value, depth + 1);
 		}
 	}
 
@@ -178,7 +369,7 @@ public void close()
 	{
 		tab = null;
 		footerComment = null;
-		yamlBuilder = null;
+		out = null;
 		newLineSymbol = null;
 	}
 }
\ No newline at end of file
@@ -1,18 +1,52 @@
+import at.pcgamingfreaks.yaml.ConcurrentYAML;
 import at.pcgamingfreaks.yaml.YAML;
+import at.pcgamingfreaks.yaml.YamlConverters;
+import at.pcgamingfreaks.yaml.YamlEvent;
+import at.pcgamingfreaks.yaml.YamlEventReader;
+import at.pcgamingfreaks.yaml.YamlFlatDocument;
 import at.pcgamingfreaks.yaml.YamlInvalidContentException;
 import at.pcgamingfreaks.yaml.YamlKeyNotFoundException;
+import at.pcgamingfreaks.yaml.YamlNode;
+import at.pcgamingfreaks.yaml.YamlPath;
+import at.pcgamingfreaks.yaml.YamlSnapshot;
+import at.pcgamingfreaks.yaml.YamlSnapshotRef;
+import at.pcgamingfreaks.yaml.YamlValue;
 
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class Tests
 {
@@ -312,4 +346,780 @@ public void testSaveAndLoadAndSaveAgainNodeWeithSpecialCharName() throws IOExcep
 
 		assertEquals("'X:\\Anime/DearS': testing2", yamlString);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testQuotedValueEscapes() throws YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		try(YAML yaml = new YAML("Double: \"a\\\\nb \\\"q\\\" c\\nd\" # comment\nSingle: 'it''s' #comment\nArray: [ 'x,y', \"z\" ]"))
+		{
+			assertEquals("a\\nb \"q\" c\nd", yaml.getString("Double"));
+			assertEquals("it's", yaml.getString("Single"));
+			List<String> expected = new ArrayList<>();
+			expected.add("x,y");
+			expected.add("z");
+			assertEquals(expected, yaml.getStringList("Array"));
+			yaml.set("Double", "a\\nb");
+			try(YAML reloaded = new YAML(yaml.saveAsString()))
+			{
+				assertEquals("a\\nb", reloaded.getString("Double"));
+			}
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testLongQuotedValue() throws YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		StringBuilder builder = new StringBuilder("Key: \"");
+		for(int i = 0; i < 100000; i++) builder.append("\\\" ");
+		builder.append('"');
+		try(YAML yaml = new YAML(builder.toString()))
+		{
+			assertEquals(200000, yaml.getString("Key").length());
+		}
+	}
+
+	@Test
+	public void testLoadLargeStreamWithBom() throws YamlInvalidContentException, YamlKeyNotFoundException, IOException
+	{
+		StringBuilder builder = new StringBuilder("# Header\r\n");
+		for(int i = 0; i < 2000; i++)
+		{
+			builder.append("Section").append(i).append(":\r\n  Text: \"\u00e4\u20ac\ud834\udd1e ").append(i).append("\" # comment\r\n  List:\r\n  - ").append(i).append("\r\n");
+		}
+		builder.append("# Footer\r\n\r\n");
+		String yamlText = builder.toString();
+		String[][] encodings = { { "UTF-8", "\ufeff" }, { "UTF-8", "" }, { "UTF-16LE", "\ufeff" }, { "UTF-16BE", "\ufeff" } };
+		for(String[] encoding : encodings)
+		{
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			bytes.write((encoding[1] + yamlText).getBytes(Charset.forName(encoding[0])));
+			try(YAML expected = new YAML(yamlText); YAML yaml = new YAML(new ByteArrayInputStream(bytes.toByteArray())))
+			{
+				assertEquals("\u00e4\u20ac\ud834\udd1e 1999", yaml.getString("Section1999.Text"));
+				assertEquals(1999, (int) yaml.getIntList("Section1999.List").get(0));
+				assertEquals(expected.getKeys(), yaml.getKeys());
+				assertEquals(expected.saveAsString(), yaml.saveAsString());
+			}
+		}
+	}
+
+	@Test
+	public void testLoadMappedFile() throws YamlInvalidContentException, YamlKeyNotFoundException, IOException
+	{
+		String yamlText = "# Header\nData:\n  Text: \"\u00e4\u20ac\ud834\udd1e\"\n  List: [ 1, 2 ]\n# Footer\n";
+		Path file = Files.createTempFile("testLoadMappedFile", ".yml");
+		try
+		{
+			Files.write(file, ("\ufeff" + yamlText).getBytes(Charset.forName("UTF-16LE")));
+			try(YAML expected = new YAML(yamlText); YAML yaml = new YAML(file))
+			{
+				assertEquals("\u00e4\u20ac\ud834\udd1e", yaml.getString("Data.Text"));
+				assertEquals(2, (int) yaml.getIntList("Data.List").get(1));
+				assertEquals(expected.saveAsString(), yaml.saveAsString());
+			}
+			Files.write(file, new byte[0]);
+			try(YAML yaml = new YAML(file))
+			{
+				assertTrue(yaml.getKeys().isEmpty());
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testEventReader() throws YamlInvalidContentException, IOException
+	{
+		List<String> events = new ArrayList<>();
+		try(YamlEventReader reader = new YamlEventReader("# Header\nKey: Value # comment\nSection:\n  List:\n  - 1\n  - 2\n  Array: [ a, \"b\" ]\nLast: 'x'"))
+		{
+			while(reader.hasNext())
+			{
+				YamlEvent event = reader.next();
+				switch(event)
+				{
+					case START_MAPPING_KEY: events.add(event + " " + reader.getDepth() + " " + reader.getName()); break;
+					case SCALAR: events.add(event + " " + reader.getDepth() + " " + reader.getValue() + reader.getComment()); break;
+					case COMMENT: events.add(event + " " + reader.getValue()); break;
+					default: events.add(event + " " + reader.getDepth());
+				}
+			}
+		}
+		String[] expected = { "COMMENT # Header", "START_MAPPING_KEY 1 Key", "SCALAR 1 Value # comment", "END_NODE 1", "START_MAPPING_KEY 1 Section",
+				"START_MAPPING_KEY 2 List", "START_SEQUENCE 2", "SCALAR 2 1", "SCALAR 2 2", "END_SEQUENCE 2", "END_NODE 2", "START_MAPPING_KEY 2 Array",
+				"START_SEQUENCE 2", "SCALAR 2 a", "SCALAR 2 b", "END_SEQUENCE 2", "END_NODE 2", "END_NODE 1", "START_MAPPING_KEY 1 Last", "SCALAR 1 x", "END_NODE 1" };
+		for(int i = 0; i < Math.min(expected.length, events.size()); i++) assertEquals(expected[i], events.get(i));
+		assertEquals(expected.length, events.size());
+	}
+
+	@Test
+	public void testMultiLineValueAfterKey() throws YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		try(YAML yaml = new YAML("Section:\n  Text: \"first\n  second\"\n  Other: 1"))
+		{
+			assertEquals(2, yaml.getSection("Section").getKeys().size());
+			assertEquals(1, yaml.getInt("Section.Other"));
+			assertEquals("first second", yaml.getString("Section.Text"));
+		}
+	}
+
+	@Test
+	public void testLoadLargeDocumentInChunks() throws YamlInvalidContentException, YamlKeyNotFoundException, IOException
+	{
+		StringBuilder builder = new StringBuilder("# Header\n");
+		for(int i = 0; i < 12000; i++)
+		{
+			builder.append("# Comment ").append(i).append("\n\nSection").append(i).append(":\n  Text: \"Line\n    second: line\" # comment\n  List:\n  - ").append(i).append("\n  Array: [ a, b ]\n");
+		}
+		builder.append("# Footer\n");
+		// The documents that can't be split at every top-level key (multiline value starting at the begin of a line, tab indentation) are loaded in one go
+		String[] documents = { builder.toString(), builder.toString().replace("\n    second", "\nsecond"), builder.toString().replace("\n  ", "\n\t") };
+		Path file = Files.createTempFile("testLoadLargeDocumentInChunks", ".yml");
+		try
+		{
+			for(String yamlText : documents)
+			{
+				Files.write(file, yamlText.getBytes(Charset.forName("UTF-8")));
+				try(YAML expected = new YAML(new ByteArrayInputStream(yamlText.getBytes(Charset.forName("UTF-8"))));
+				    YAML fromString = new YAML(yamlText); YAML fromFile = new YAML(file))
+				{
+					assertEquals("Line second: line", fromString.getString("Section11999.Text"));
+					assertEquals(11999, (int) fromFile.getIntList("Section11999.List").get(0));
+					assertEquals(expected.getKeys(), fromString.getKeys());
+					assertEquals(expected.getNodeKeys(), fromFile.getNodeKeys());
+					assertEquals(expected.saveAsString(), fromString.saveAsString());
+					assertEquals(expected.saveAsString(), fromFile.saveAsString());
+				}
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testLazyLoad() throws YamlInvalidContentException, YamlKeyNotFoundException, IOException
+	{
+		String yamlText = "# Header\nFirst:\n  Value: 1\n  List:\n  - a\n  - b\n# Comment\n\nSecond: \"multi\nline\" # comment\nThird:\n  Sub:\n    Value: [ x, y ]\n# Footer\n";
+		try(YAML expected = new YAML(yamlText); YAML yaml = new YAML(yamlText, true))
+		{
+			assertEquals("multi line", yaml.getString("Second"));
+			assertTrue(yaml.isSet("Third.Sub.Value"));
+			assertEquals(expected.getStringList("Third.Sub.Value"), yaml.getStringList("Third.Sub.Value"));
+			assertEquals(expected.getSection("Third").saveAsString(), yaml.getSection("Third").saveAsString());
+			yaml.set("First.New", "value");
+			expected.set("First.New", "value");
+			yaml.set("Fourth", 4);
+			expected.set("Fourth", 4);
+			assertEquals(expected.getKeys(), yaml.getKeys());
+			assertEquals(expected.saveAsString(), yaml.saveAsString());
+		}
+		Path file = Files.createTempFile("testLazyLoad", ".yml");
+		try
+		{
+			Files.write(file, ("\ufeff" + yamlText).getBytes(Charset.forName("UTF-16LE")));
+			try(YAML expected = new YAML(yamlText); YAML yaml = new YAML(file, true))
+			{
+				assertEquals(1, yaml.getInt("First.Value"));
+				assertEquals(expected.saveAsString(), yaml.saveAsString());
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testValuesExtractedOnAccess() throws YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		String yamlText = "Plain: text # comment\nDouble: \"say \\\"hi\\\"\"\nSingle: 'it''s'\nQuote: a \"b\"\nList:\n- 'x'\n- y\n";
+		try(YAML yaml = new YAML(yamlText))
+		{
+			assertEquals("text", yaml.getString("Plain"));
+			assertEquals("say \"hi\"", yaml.getString("Double"));
+			assertEquals("it's", yaml.getString("Single"));
+			assertEquals("a \"b\"", yaml.getString("Quote"));
+			assertSame(yaml.getString("Plain"), yaml.getString("Plain"));
+			assertEquals("x", yaml.getStringList("List").get(0));
+			try(YAML copy = new YAML(yaml.saveAsString()))
+			{
+				assertEquals(yaml.saveAsString(), copy.saveAsString());
+				assertEquals("a \"b\"", copy.getString("Quote"));
+			}
+		}
+	}
+
+	@Test
+	public void testNodeChildren() throws YamlInvalidContentException
+	{
+		YamlNode node = new YamlNode("Node");
+		assertTrue(node.getElements().isEmpty());
+		for(int i = 0; i < 20; i++)
+		{
+			node.addElement(new YamlNode("Sub" + i, "value" + i));
+			assertEquals(i + 1, node.getElements().size());
+			assertEquals(i + 1, node.getNodeMap().size());
+			for(int j = 0; j <= i; j++)
+			{
+				assertEquals("value" + j, node.getSubNode("Sub" + j).getValue().getValue());
+			}
+		}
+		node.addElement(new YamlValue("value"));
+		assertEquals("value", node.getValue().getValue());
+		assertEquals(node.getValue(), node.getElements().get(0));
+		YamlNode copy = new YamlNode(node);
+		assertEquals(node, copy);
+		for(int i = 19; i >= 0; i--)
+		{
+			node.removeElement(node.getSubNode("Sub" + i));
+			assertTrue(!node.contains("Sub" + i));
+			assertEquals(i + 1, node.getElements().size());
+		}
+		assertTrue(node.isValue());
+		assertEquals(21, copy.getElements().size());
+		assertTrue(copy.contains("Sub0"));
+	}
+
+	@Test
+	public void testFlatDocument() throws YamlInvalidContentException, YamlKeyNotFoundException, IOException
+	{
+		String yamlText = "# Header\nServer:\n  Name: \"main \\\"server\\\"\" # comment\n  Port: 8080\n  Hosts:\n  - a\n  - 'b'\n  Ports: [ 1, 2 ]\n  Empty: []\n\"Dotted.Key\": x\nServer.Port: 9090\n";
+		try(YAML expected = new YAML(yamlText))
+		{
+			YamlFlatDocument document = new YamlFlatDocument(yamlText);
+			assertEquals(expected.getKeys(), document.getKeys());
+			for(String key : expected.getNodeKeys())
+			{
+				assertEquals(expected.isSet(key), document.isSet(key));
+				assertEquals(expected.isList(key), document.isList(key));
+				assertEquals(expected.getString(key, null), document.getString(key, null));
+				assertEquals(expected.getStringList(key, null), document.getStringList(key, null));
+			}
+			assertEquals("main \"server\"", document.getString("Server.Name"));
+			assertEquals(9090, document.getInt("Server.Port"));
+			assertEquals("x", document.getValue("Dotted.Key").getValue());
+			assertEquals(2, document.getIntList("Server.Ports").size());
+			assertTrue(!document.isSet("Server.Missing"));
+			assertEquals(document.getKeys(), new YamlFlatDocument(new ByteArrayInputStream(yamlText.getBytes("UTF-8"))).getKeys());
+		}
+	}
+
+	@Test
+	public void testKeyIndex() throws YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		try(YAML yaml = new YAML("A:\n  B:\n    C: 1\n  D: 2\nA.E: 3\n\"A.B\": x\nF: [ 1 ]\nG:\n  H: 4\n"))
+		{
+			assertEquals(new HashSet<>(Arrays.asList("A.B.C", "A.D", "A.E", "A.B", "F", "G.H")), yaml.getKeys());
+			assertEquals(new HashSet<>(Collections.singletonList("F")), yaml.getKeys(false));
+			assertEquals(new HashSet<>(Arrays.asList("", "A", "F", "G")), yaml.getNodeKeys(false));
+			assertEquals(9, yaml.getNodeKeys().size());
+			assertEquals("x", yaml.getString("A.B"));
+			assertEquals(1, yaml.getInt("A.B.C"));
+			yaml.set("G.I.J", 5);
+			assertTrue(yaml.getNodeKeys().contains("G.I"));
+			assertEquals(5, yaml.getInt("G.I.J"));
+			assertEquals(new HashSet<>(Arrays.asList("A.B.C", "A.D", "A.E", "A.B", "F", "G.H", "G.I.J")), yaml.getKeys());
+		}
+	}
+
+	@Test
+	public void testQuery() throws YamlInvalidContentException
+	{
+		try(YAML yaml = new YAML("servers:\n  main:\n    port: 80\n    timeout: 5\n  backup:\n    port: 8080\n    db:\n      timeout: 10\ntimeout: 1\nlist:\n  - 1\n  - 2\n"))
+		{
+			assertEquals(Arrays.asList("servers.main.port", "servers.backup.port"), yaml.query("servers.*.port").collect(Collectors.toList()));
+			assertEquals(Arrays.asList("servers.main.timeout", "servers.backup.db.timeout", "timeout"), yaml.query("**.timeout").collect(Collectors.toList()));
+			assertEquals(Collections.singletonList("servers.backup.port"), yaml.query("servers.b*.port").collect(Collectors.toList()));
+			assertEquals(Arrays.asList("5", "10", "1"), yaml.queryValues("**.timeout").map(YamlValue::getValue).collect(Collectors.toList()));
+			assertEquals(Collections.singletonList("list"), yaml.query("list").collect(Collectors.toList()));
+			assertEquals(0, yaml.queryValues("list").count());
+			assertEquals(0, yaml.query("servers.*").count());
+			assertEquals(yaml.getKeys(), yaml.query("**").collect(Collectors.toSet()));
+			assertEquals(new HashSet<>(yaml.getKeysFiltered(".*port")), yaml.query("**.port").collect(Collectors.toSet()));
+		}
+	}
+
+	@Test
+	public void testPathHandle() throws YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		YamlPath port = new YamlPath("server.port"), missing = new YamlPath("server.missing");
+		try(YAML yaml = new YAML("server:\n  port: 80\n  list:\n    - a\n", true); YAML other = new YAML("server:\n  port: 25\n"))
+		{
+			assertEquals(80, yaml.getInt(port));
+			assertEquals(80, yaml.getInt(port, 1));
+			assertSame(yaml.getValue(port), yaml.getValue("server.port"));
+			assertEquals(25, other.getInt(port)); // Handles can be used with multiple objects
+			assertEquals(80, yaml.getInt(port));
+			assertEquals(Collections.singletonList("a"), yaml.getStringList(new YamlPath("server.list"), null));
+			assertFalse(yaml.isSet(missing));
+			assertEquals(7, yaml.getInt(missing, 7));
+			yaml.set("server.missing", 3);
+			assertEquals(3, yaml.getInt(missing));
+			yaml.set("server.port", 8080);
+			assertEquals(8080L, yaml.getLong(port));
+			yaml.load("server:\n  port: 443\n");
+			assertEquals("443", yaml.getString(port));
+			yaml.clear();
+			assertFalse(yaml.isSet(port));
+			assertTrue(yaml.getBoolean(port, true));
+		}
+	}
+
+	@Test
+	public void testPathHandleAlternatingObjects() throws YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		YamlPath port = new YamlPath("server.port");
+		try(YAML first = new YAML("server:\n  port: 80\n"); YAML second = new YAML("server:\n  port: 25\n"))
+		{
+			for(int i = 0; i < 10; i++)
+			{ // Every object caches the node itself, reading from another object doesn't replace it
+				assertEquals(80, first.getInt(port));
+				assertSame(first.getValue("server.port"), first.getValue(port));
+				assertEquals(25, second.getInt(port));
+				assertSame(second.getValue("server.port"), second.getValue(port));
+			}
+			second.set("server.port", 443);
+			assertEquals(80, first.getInt(port));
+			assertEquals(443, second.getInt(port));
+		}
+	}
+
+	@Test
+	public void testTypedValues() throws YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		try(YAML yaml = new YAML("int: 42\nbig: 3000000000\ndouble: 2.5\nbool: TRUE\ntext: abc\n"))
+		{
+			YamlValue value = yaml.getValue("int");
+			assertEquals(42, yaml.getInt("int"));
+			assertEquals(42L, yaml.getLong("int"));
+			assertEquals(42, yaml.getByte("int"));
+			assertEquals(42.0, yaml.getDouble("int"), 0);
+			assertEquals(42, value.getValueAsInt()); // Parsed values are kept
+			value.setValue("7");
+			assertEquals(7, yaml.getInt("int"));
+			assertEquals(7.0f, yaml.getFloat("int"), 0);
+			yaml.set("int", 8);
+			assertEquals(8, yaml.getShort("int"));
+			assertEquals(3000000000L, yaml.getLong("big"));
+			assertEquals(2.5, yaml.getDouble("double"), 0);
+			assertTrue(yaml.getBoolean("bool"));
+			assertFalse(yaml.getBoolean("text"));
+			for(String key : new String[] { "big", "double", "text" })
+			{
+				try
+				{
+					yaml.getInt(key);
+					fail("The value of " + key + " is not an int");
+				}
+				catch(NumberFormatException ignored) {}
+			}
+			try
+			{
+				yaml.getInt("missing");
+				fail("The key does not exist");
+			}
+			catch(YamlKeyNotFoundException ignored) {}
+		}
+	}
+
+	@Test
+	public void testPrimitiveArrays() throws YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		try(YAML yaml = new YAML("ints:\n  - 1\n  - -2\n  - 3\ndoubles: [ 0.5, 2 ]\nbools:\n  - true\n  - no\nvalue: 5\n"))
+		{
+			assertArrayEquals(new int[] { 1, -2, 3 }, yaml.getIntArray("ints"));
+			assertArrayEquals(new long[] { 1, -2, 3 }, yaml.getLongArray("ints"));
+			assertArrayEquals(new double[] { 0.5, 2 }, yaml.getDoubleArray("doubles"), 0);
+			assertArrayEquals(new boolean[] { true, false }, yaml.getBooleanArray("bools"));
+			assertEquals(2, yaml.getIntStream("ints").sum());
+			assertEquals(-2, yaml.getLongStream("ints").min().getAsLong());
+			assertEquals(2.5, yaml.getDoubleStream("doubles").sum(), 0);
+			assertNull(yaml.getIntArray("missing", null));
+			assertArrayEquals(new int[] { 5 }, yaml.getIntArray("value", null)); // Single values are lists with one element
+			try
+			{
+				yaml.getIntArray("missing");
+				fail("The key does not exist");
+			}
+			catch(YamlKeyNotFoundException ignored) {}
+			// The arrays are read from the value elements of the list
+			List<YamlValue> values = yaml.getValueListE("ints");
+			assertEquals(3, values.size());
+			assertSame(values.get(1), yaml.getValueList("ints").get(1));
+			values.get(1).setValue("7");
+			assertArrayEquals(new int[] { 1, 7, 3 }, yaml.getIntArray("ints"));
+			assertNull(yaml.getValueList("missing"));
+		}
+		try(YAML yaml = new YAML("ints:\n  - 4\n  - 5\n"))
+		{
+			assertArrayEquals(new int[] { 4, 5 }, yaml.freeze().getIntArray("ints")); // Implementations that only have the strings
+		}
+	}
+
+	@Test
+	public void testDefaultValues() throws YamlInvalidContentException
+	{
+		try(YAML yaml = new YAML("byte: 3\nfloat: 1.5\nchar: c\nlist:\n  - 1\n  - 2\n"))
+		{
+			assertEquals(3, yaml.getByte("byte", (byte) 1));
+			assertEquals(1.5f, yaml.getFloat("float", 0.1f), 0);
+			assertEquals('c', yaml.getChar("char", 'x'));
+			assertEquals(-1, yaml.getByte("missing", (byte) -1));
+			assertEquals(Short.MIN_VALUE, yaml.getShort("missing", Short.MIN_VALUE));
+			assertEquals(Integer.MAX_VALUE, yaml.getInt("missing", Integer.MAX_VALUE));
+			assertEquals(Long.MIN_VALUE, yaml.getLong("missing", Long.MIN_VALUE));
+			assertEquals(0.1f, yaml.getFloat("missing", 0.1f), 0);
+			assertEquals(Double.NaN, yaml.getDouble("missing", Double.NaN), 0);
+			assertTrue(yaml.getBoolean("missing", true));
+			assertEquals('x', yaml.getChar("missing", 'x'));
+			assertEquals(5, yaml.getInt("list", 5)); // Lists are no single values
+		}
+	}
+
+	private enum Mode { FAST, SAFE }
+
+	@Test
+	public void testConverters() throws YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		try(YAML yaml = new YAML("timeout: PT5S\nmode: SAFE\nprice: 1.10\nid: 123e4567-e89b-12d3-a456-426614174000\nport: 80\n"))
+		{
+			assertEquals(Duration.ofSeconds(5), yaml.get("timeout", Duration.class));
+			assertSame(yaml.get("timeout", Duration.class), yaml.get("timeout", Duration.class)); // The converted value is kept
+			assertEquals(Mode.SAFE, yaml.get("mode", Mode.class));
+			assertEquals(new BigDecimal("1.10"), yaml.get("price", BigDecimal.class));
+			assertEquals(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), yaml.get("id", UUID.class));
+			assertEquals(80, (int) yaml.get("port", int.class));
+			assertEquals(Mode.FAST, yaml.get("missing", Mode.class, Mode.FAST));
+			yaml.set("mode", Mode.FAST);
+			assertEquals(Mode.FAST, yaml.get("mode", Mode.class));
+			YamlConverters.register(Mode.class, value -> Mode.valueOf(value.toUpperCase(Locale.ROOT)));
+			yaml.set("mode", "safe");
+			assertEquals(Mode.SAFE, yaml.get("mode", Mode.class));
+			try
+			{
+				yaml.get("port", Tests.class);
+				fail("There is no converter for the type");
+			}
+			catch(IllegalArgumentException ignored) {}
+		}
+		try(YAML yaml = new YAML("timeout: 5s\n"))
+		{
+			try
+			{
+				yaml.get("timeout", Duration.class);
+				fail("The value is not a valid duration");
+			}
+			catch(IllegalArgumentException e)
+			{
+				assertTrue(e.getMessage().contains("5s"));
+			}
+			try
+			{
+				yaml.bind(DbConfig.class);
+				fail("The value is not a valid duration");
+			}
+			catch(IllegalArgumentException ignored) {}
+		}
+	}
+
+	public static class Pool
+	{
+		private int size = 1;
+		private boolean fair;
+	}
+
+	public static class DbConfig
+	{
+		private String host;
+		private int port = 5432;
+		private Duration timeout;
+		private List<Integer> replicas;
+		private Pool pool;
+		private Mode mode = Mode.FAST;
+	}
+
+	public static class Point
+	{
+		private int x, y;
+	}
+
+	public static class Shape
+	{
+		private Point origin;
+		private List<? extends Integer> sizes;
+	}
+
+	public static class Box<T>
+	{
+		private List<T> items;
+	}
+
+	@Test
+	public void testBindFieldTypes() throws YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		try(YAML yaml = new YAML("shape:\n  origin:\n    x: 1\n    y: 2\n  sizes:\n    - 3\n    - 4\nbox:\n  items:\n    - a\n"))
+		{
+			Shape shape = yaml.bind("shape", Shape.class);
+			assertEquals(2, shape.origin.y);
+			assertEquals(Arrays.asList(3, 4), shape.sizes); // Wildcards are bound to their upper bound
+			try
+			{
+				yaml.bind("box", Box.class);
+				fail("The element type of the list is a type variable");
+			}
+			catch(IllegalArgumentException ignored) {}
+
+			YamlConverters.register(Point.class, value -> {
+				Point point = new Point();
+				String[] coordinates = value.split(",");
+				point.x = Integer.parseInt(coordinates[0].trim());
+				point.y = Integer.parseInt(coordinates[1].trim());
+				return point;
+			});
+			yaml.set("shape.origin", "5, 6"); // The converter is used although the class has been bound before
+			assertEquals(6, yaml.bind("shape", Shape.class).origin.y);
+		}
+	}
+
+	@Test
+	public void testBind() throws YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		try(YAML yaml = new YAML("database:\n  host: localhost\n  timeout: PT1M\n  replicas:\n    - 1\n    - 2\n  pool:\n    fair: true\n  unknown: 1\n"))
+		{
+			DbConfig config = yaml.bind("database", DbConfig.class);
+			assertEquals("localhost", config.host);
+			assertEquals(5432, config.port); // Missing keys keep the value set by the constructor
+			assertEquals(Duration.ofMinutes(1), config.timeout);
+			assertEquals(Arrays.asList(1, 2), config.replicas);
+			assertEquals(1, config.pool.size);
+			assertTrue(config.pool.fair);
+			assertEquals(Mode.FAST, config.mode);
+			yaml.set("database.port", 3306);
+			DbConfig sectionConfig = yaml.getSection("database").bind(DbConfig.class);
+			assertEquals(3306, sectionConfig.port);
+			assertEquals("localhost", sectionConfig.host);
+			try
+			{
+				yaml.bind("database", Runnable.class);
+				fail("Interfaces can't be bound");
+			}
+			catch(IllegalArgumentException ignored) {}
+		}
+	}
+
+	@Test
+	public void testConcurrentYaml() throws Exception
+	{
+		try(ConcurrentYAML yaml = new ConcurrentYAML())
+		{
+			assertFalse(yaml.isSet("counter"));
+			yaml.set("counter", 0);
+			yaml.set("name", "test");
+			YamlPath counter = new YamlPath("counter");
+			AtomicBoolean failed = new AtomicBoolean(false);
+			Thread[] readers = new Thread[4];
+			for(int i = 0; i < readers.length; i++)
+			{
+				readers[i] = new Thread(() ->
+				{
+					for(int read = 0; read < 20000; read++)
+					{ // Every state the readers can see has both keys
+						if(yaml.getInt(counter, -1) < 0 || !"test".equals(yaml.getString("name", null))) failed.set(true);
+					}
+				});
+				readers[i].start();
+			}
+			for(int i = 1; i <= 200; i++)
+			{
+				if(i % 50 == 0) yaml.load("counter: " + i + "\nname: test\n");
+				else yaml.set("counter", i);
+				yaml.set("key" + i, i);
+			}
+			for(Thread reader : readers)
+			{
+				reader.join();
+			}
+			assertFalse(failed.get());
+			assertEquals(200, yaml.getInt("counter"));
+			assertEquals(3, yaml.getKeys(true).size()); // The last load removed the keys set before
+			yaml.clear();
+			assertFalse(yaml.isSet("counter"));
+		}
+	}
+
+	@Test
+	public void testSnapshot() throws YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		try(YAML yaml = new YAML("server:\n  port: 80\n  hosts:\n    - a\n    - b\n"))
+		{
+			YamlSnapshotRef ref = new YamlSnapshotRef(yaml);
+			YamlSnapshot snapshot = ref.current();
+			yaml.set("server.port", 8080);
+			assertEquals(80, snapshot.getInt("server.port")); // Changes of the YAML object are not visible in the snapshot
+			assertEquals(Arrays.asList("a", "b"), snapshot.getStringList("server.hosts"));
+			assertEquals(yaml.getKeys(), snapshot.getKeys());
+			assertFalse(snapshot.isSet("server"));
+			try
+			{
+				snapshot.getValueE("server.port").setValue("1");
+				fail("Snapshots are immutable");
+			}
+			catch(UnsupportedOperationException ignored) {}
+			try
+			{
+				snapshot.getStringList("server.hosts").add("c");
+				fail("Snapshots are immutable");
+			}
+			catch(UnsupportedOperationException ignored) {}
+
+			assertEquals(8080, ref.publish(yaml).getInt("server.port"));
+			assertEquals(8080, ref.current().getInt("server.port"));
+			try
+			{
+				ref.reload("server:\n  - a\n  b: 1\n");
+				fail("The data is invalid");
+			}
+			catch(YamlInvalidContentException ignored) {}
+			assertEquals(8080, ref.current().getInt("server.port")); // The snapshot is kept if the new data is invalid
+			ref.reload("server:\n  port: 443\n");
+			assertEquals(443, ref.current().getInt("server.port"));
+			assertEquals(80, snapshot.getInt("server.port"));
+		}
+	}
+
+	@Test
+	public void testFrozenStorage() throws YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		try(YAML yaml = new YAML("b: 1\na: 2\nlist:\n  - x\n  - y\nempty: []\n"))
+		{
+			yaml.set("b.c", 3); // A key holding a value and a sub key
+			YamlSnapshot snapshot = yaml.freeze();
+			assertEquals(Arrays.asList("a", "b", "b.c", "empty", "list"), new ArrayList<>(snapshot.getKeys()));
+			assertEquals(Collections.singletonList("2"), snapshot.getStringList("a"));
+			assertEquals(Arrays.asList("x", "y"), snapshot.getStringList("list"));
+			assertNull(snapshot.getValue("list"));
+			assertEquals(yaml.getStringList("empty", null), snapshot.getStringList("empty", null));
+			assertEquals(yaml.getStringList("b", null), snapshot.getStringList("b", null));
+			assertEquals(1, snapshot.getInt("b"));
+			assertEquals(3, snapshot.getInt("b.c"));
+			assertFalse(snapshot.isSet("c"));
+			assertFalse(snapshot.getKeys().contains("c"));
+		}
+	}
+
+	@Test
+	public void testStreamingSave() throws IOException, YamlInvalidContentException, YamlKeyNotFoundException
+	{
+		StringBuilder data = new StringBuilder("name: Grüße\n");
+		for(int i = 0; i < 2000; i++) data.append("key").append(i).append(":\n    value: \"äöü ").append(i).append("\"\n");
+		try(YAML yaml = new YAML(data.toString()))
+		{
+			String expected = yaml.saveAsString();
+			ByteArrayOutputStream stream = (ByteArrayOutputStream) yaml.saveAsStream();
+			assertEquals(expected, new String(stream.toByteArray(), "UTF-8"));
+			StringWriter writer = new StringWriter();
+			yaml.save(writer);
+			assertEquals(expected, writer.toString());
+			ByteArrayOutputStream channelStream = new ByteArrayOutputStream();
+			yaml.save(Channels.newChannel(channelStream));
+			assertArrayEquals(stream.toByteArray(), channelStream.toByteArray());
+			try(YAML loaded = new YAML(new ByteArrayInputStream(stream.toByteArray())))
+			{
+				assertEquals("Grüße", loaded.getString("name"));
+				assertEquals("äöü 1999", loaded.getString("key1999.value"));
+			}
+		}
+		try(YAML yaml = new YAML(""); YAML loaded = new YAML(yaml.saveAsString()))
+		{ // An empty document can be written
+			assertTrue(loaded.getKeys(true).isEmpty());
+		}
+	}
+
+	@Test
+	public void testWriterEscaping() throws YamlInvalidContentException
+	{
+		try(YAML yaml = new YAML(""))
+		{
+			yaml.set("a.\"it's\"", "say \"hi\"");
+			yaml.set("a.b", "it's");
+			yaml.set("a.c.d", "back\\slash");
+			yaml.set("x", Arrays.asList("1", "2"));
+			assertEquals("a:\n    \"\\\"it's\\\"\": 'say \"hi\"'\n    b: \"it's\"\n    c:\n        d: \"back\\\\slash\"\nx:\n    - 1\n    - 2\n", yaml.saveAsString());
+		}
+	}
+
+	@Test
+	public void testParallelSave() throws IOException, YamlInvalidContentException
+	{
+		StringBuilder data = new StringBuilder("# header\n");
+		for(int i = 0; i < 500; i++)
+		{
+			data.append("section").append(i).append(": ").append(i).append(" # value\n");
+			data.append("    list:\n        - a\n        - 'b c'\n    array: [ 1, 2 ]\n    \"quoted key\": \"x\\ny\"\n");
+		}
+		data.append("plain: value\n# footer\n");
+		try(YAML yaml = new YAML(data.toString()))
+		{
+			String expected = yaml.saveAsString();
+			StringWriter writer = new StringWriter();
+			yaml.save(writer, true);
+			assertEquals(expected, writer.toString());
+			File file = File.createTempFile("yaml-parallel", ".yml");
+			try
+			{
+				yaml.save(file, true);
+				assertEquals(expected, new String(Files.readAllBytes(file.toPath()), "UTF-8"));
+			}
+			finally
+			{
+				assertTrue(file.delete());
+			}
+		}
+	}
+
+	@Test
+	public void testSaveAsync() throws Exception
+	{
+		File file = File.createTempFile("yaml-async", ".yml");
+		try(YAML yaml = new YAML(""))
+		{
+			CompletableFuture<Void> last = null;
+			for(int i = 0; i < 100; i++)
+			{
+				yaml.set("counter", i);
+				last = yaml.saveAsync(file);
+			}
+			last.get(10, TimeUnit.SECONDS);
+			try(YAML loaded = new YAML(file))
+			{
+				assertEquals(99, loaded.getInt("counter"));
+			}
+			assertTrue(file.setLastModified(1000000000000L));
+			yaml.saveAsync(file).get(10, TimeUnit.SECONDS); // Nothing changed, the file is not written again
+			assertEquals(1000000000000L, file.lastModified());
+			yaml.set("counter", 100);
+			yaml.saveAsync(file).get(10, TimeUnit.SECONDS);
+			assertNotEquals(1000000000000L, file.lastModified());
+			String[] tempFiles = file.getParentFile().list((directory, name) -> name.startsWith("." + file.getName()));
+			assertNotNull(tempFiles);
+			assertEquals(0, tempFiles.length);
+			yaml.set("counter", 101); // Saving again after all saves have been written works like the first save
+			yaml.saveAsync(file).get(10, TimeUnit.SECONDS);
+			try(YAML loaded = new YAML(file))
+			{
+				assertEquals(101, loaded.getInt("counter"));
+			}
+			tempFiles = file.getParentFile().list((directory, name) -> name.startsWith("." + file.getName()));
+			assertNotNull(tempFiles);
+			assertEquals(0, tempFiles.length);
+		}
+		finally
+		{
+			assertTrue(file.delete());
+		}
+	}
+}